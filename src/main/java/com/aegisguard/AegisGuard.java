@@ -2,6 +2,7 @@ package com.aegisguard;
 
 import com.aegisguard.admin.AdminCommand;
 import com.aegisguard.config.AGConfig;
+import com.aegisguard.data.NameCache;
 import com.aegisguard.data.PlotStore;
 import com.aegisguard.economy.VaultHook;
 import com.aegisguard.gui.GUIListener;
@@ -27,7 +28,9 @@ import org.bukkit.plugin.java.JavaPlugin;
  */
 public class AegisGuard extends JavaPlugin {
 
+    private AegisScheduler scheduler;
     private AGConfig configMgr;
+    private NameCache names;
     private PlotStore plotStore;
     private GUIManager gui;
     private ProtectionManager protection;
@@ -37,7 +40,9 @@ public class AegisGuard extends JavaPlugin {
     private WorldRulesManager worldRules;
     private SoundUtil sounds;
 
+    public AegisScheduler scheduler()    { return scheduler; }
     public AGConfig cfg()                { return configMgr; }
+    public NameCache names()             { return names; }
     public PlotStore store()             { return plotStore; }
     public GUIManager gui()              { return gui; }
     public ProtectionManager protection(){ return protection; }
@@ -54,7 +59,9 @@ public class AegisGuard extends JavaPlugin {
         saveResource("messages.yml", false);
 
         // Core systems
+        this.scheduler  = new AegisScheduler(this);
         this.configMgr  = new AGConfig(this);
+        this.names      = new NameCache(this);
         this.plotStore  = new PlotStore(this);
         this.selection  = new SelectionService(this);
         this.gui        = new GUIManager(this);
@@ -65,6 +72,7 @@ public class AegisGuard extends JavaPlugin {
         this.sounds     = new SoundUtil(this);
 
         // Listeners
+        Bukkit.getPluginManager().registerEvents(names, this);
         Bukkit.getPluginManager().registerEvents(new GUIListener(this), this);
         Bukkit.getPluginManager().registerEvents(protection, this);
         Bukkit.getPluginManager().registerEvents(selection, this);
@@ -76,7 +84,7 @@ public class AegisGuard extends JavaPlugin {
                 @org.bukkit.event.EventHandler
                 public void onPreLogin(org.bukkit.event.player.AsyncPlayerPreLoginEvent e) {
                     if (e.getLoginResult() == org.bukkit.event.player.AsyncPlayerPreLoginEvent.Result.KICK_BANNED) {
-                        Bukkit.getScheduler().runTask(AegisGuard.this, () -> store().removeAllPlots(e.getUniqueId()));
+                        scheduler.runGlobal(() -> store().removeAllPlots(e.getUniqueId()));
                         getLogger().info("[AegisGuard] Auto-removed plots for banned player (on login): " + e.getUniqueId());
                     }
                 }
@@ -105,7 +113,8 @@ public class AegisGuard extends JavaPlugin {
 
     @Override
     public void onDisable() {
-        if (plotStore != null) plotStore.flushSync();
+        if (plotStore != null) plotStore.close();
+        if (messages != null) messages.close();
         getLogger().info("AegisGuard disabled. Data saved.");
     }
 
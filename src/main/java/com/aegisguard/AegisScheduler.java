@@ -0,0 +1,96 @@
+package com.aegisguard;
+
+import org.bukkit.Bukkit;
+import org.bukkit.Location;
+import org.bukkit.entity.Entity;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * AegisScheduler
+ * - One place for every task AegisGuard schedules
+ * - Folia (detected by io.papermc.paper.threadedregions.RegionizedServer): global, region,
+ *   entity and async schedulers, so work runs on the thread that owns the state it touches
+ * - Paper / Spigot: the classic Bukkit scheduler (main thread / async pool)
+ *
+ * Delays and periods are in ticks on both (async delays are converted at 50 ms per tick).
+ */
+public final class AegisScheduler {
+
+    private final AegisGuard plugin;
+    private final boolean folia;
+
+    public AegisScheduler(AegisGuard plugin) {
+        this.plugin = plugin;
+        this.folia = detectFolia();
+    }
+
+    private static boolean detectFolia() {
+        try {
+            Class.forName("io.papermc.paper.threadedregions.RegionizedServer");
+            return true;
+        } catch (ClassNotFoundException e) {
+            return false;
+        }
+    }
+
+    public boolean isFolia() { return folia; }
+
+    /* -----------------------------
+     * Global (server-wide state, no world data)
+     * ----------------------------- */
+    public void runGlobal(Runnable task) {
+        if (folia) Bukkit.getGlobalRegionScheduler().execute(plugin, task);
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    public void runGlobalLater(Runnable task, long delayTicks) {
+        if (folia) Bukkit.getGlobalRegionScheduler().runDelayed(plugin, t -> task.run(), Math.max(1L, delayTicks));
+        else Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+    }
+
+    public void runGlobalTimer(Runnable task, long delayTicks, long periodTicks) {
+        if (folia) {
+            Bukkit.getGlobalRegionScheduler().runAtFixedRate(plugin, t -> task.run(),
+                    Math.max(1L, delayTicks), Math.max(1L, periodTicks));
+        } else {
+            Bukkit.getScheduler().runTaskTimer(plugin, task, delayTicks, periodTicks);
+        }
+    }
+
+    /* -----------------------------
+     * Region (blocks / world effects at a location)
+     * ----------------------------- */
+    public void runAt(Location location, Runnable task) {
+        if (folia) Bukkit.getRegionScheduler().execute(plugin, location, task);
+        else Bukkit.getScheduler().runTask(plugin, task);
+    }
+
+    /* -----------------------------
+     * Entity (follows the entity across regions; dropped if it is removed first)
+     * ----------------------------- */
+    public void runFor(Entity entity, Runnable task) {
+        runForLater(entity, task, 1L);
+    }
+
+    public void runForLater(Entity entity, Runnable task, long delayTicks) {
+        if (folia) entity.getScheduler().execute(plugin, task, null, Math.max(1L, delayTicks));
+        else Bukkit.getScheduler().runTaskLater(plugin, task, delayTicks);
+    }
+
+    /* -----------------------------
+     * Async (no world access)
+     * ----------------------------- */
+    public void runAsync(Runnable task) {
+        if (folia) Bukkit.getAsyncScheduler().runNow(plugin, t -> task.run());
+        else Bukkit.getScheduler().runTaskAsynchronously(plugin, task);
+    }
+
+    public void runAsyncLater(Runnable task, long delayTicks) {
+        if (folia) {
+            Bukkit.getAsyncScheduler().runDelayed(plugin, t -> task.run(), Math.max(1L, delayTicks) * 50L, TimeUnit.MILLISECONDS);
+        } else {
+            Bukkit.getScheduler().runTaskLaterAsynchronously(plugin, task, delayTicks);
+        }
+    }
+}
@@ -1,18 +1,28 @@
 package com.aegisguard.admin;
 
 import com.aegisguard.AegisGuard;
+import com.aegisguard.data.PlotStore;
 import org.bukkit.command.Command;
 import org.bukkit.command.CommandExecutor;
 import org.bukkit.command.CommandSender;
+import org.bukkit.entity.Player;
+
+import java.io.File;
 
 /**
  * AdminCommand
  * - Handles all /aegis admin commands
  * - Cleanup banned player plots
+ * - Export / import plots as YAML (plots-export.yml) for hand editing
+ * - Lookup cache stats
+ * - List plots near the sender
  * - Future: show claims, transfer, force-unclaim, etc.
  */
 public class AdminCommand implements CommandExecutor {
 
+    private static final String EXPORT_FILE = "plots-export.yml";
+    private static final int NEAR_LIMIT = 10;
+
     private final AegisGuard plugin;
 
     public AdminCommand(AegisGuard plugin) {
@@ -29,6 +39,10 @@ public class AdminCommand implements CommandExecutor {
         if (args.length == 0) {
             sender.sendMessage(plugin.msg().prefix() + " &7Admin commands:");
             sender.sendMessage("&e/aegis admin cleanup &7- Remove all plots owned by banned players");
+            sender.sendMessage("&e/aegis admin export &7- Write all plots to plots-export.yml");
+            sender.sendMessage("&e/aegis admin import &7- Replace all plots with plots-export.yml");
+            sender.sendMessage("&e/aegis admin stats &7- Show plot lookup cache statistics");
+            sender.sendMessage("&e/aegis admin near [radius] &7- List plots within a radius of you");
             // Later we can add: /aegis admin showclaims, /aegis admin transfer, etc.
             return true;
         }
@@ -42,6 +56,68 @@ public class AdminCommand implements CommandExecutor {
                 return true;
             }
 
+            case "export" -> {
+                File target = new File(plugin.getDataFolder(), EXPORT_FILE);
+                Runnable done = () -> sender.sendMessage(plugin.msg().prefix() + " &aExported plots to &e" + EXPORT_FILE);
+                plugin.store().exportYaml(target, () -> {
+                    if (sender instanceof Player p) plugin.scheduler().runFor(p, done);
+                    else plugin.scheduler().runGlobal(done);
+                });
+                return true;
+            }
+
+            case "import" -> {
+                File source = new File(plugin.getDataFolder(), EXPORT_FILE);
+                if (!plugin.store().importYaml(source)) {
+                    sender.sendMessage(plugin.msg().prefix() + " &c" + EXPORT_FILE + " not found.");
+                    return true;
+                }
+                sender.sendMessage(plugin.msg().prefix() + " &aImported plots from &e" + EXPORT_FILE);
+                return true;
+            }
+
+            case "stats" -> {
+                PlotStore store = plugin.store();
+                long hits = store.lookupHits();
+                long misses = store.lookupMisses();
+                long total = hits + misses;
+                String rate = total == 0 ? "-" : String.format("%.1f%%", hits * 100.0 / total);
+                sender.sendMessage(plugin.msg().prefix() + " &7Plots: &e" + store.plotCount()
+                        + " &7| Index generation: &e" + store.generation());
+                sender.sendMessage(plugin.msg().prefix() + " &7Lookup cache: &a" + hits + " hits &7/ &c"
+                        + misses + " misses &7(hit rate &e" + rate + "&7)");
+                return true;
+            }
+
+            case "near" -> {
+                if (!(sender instanceof Player p)) {
+                    sender.sendMessage(plugin.msg().get("players_only"));
+                    return true;
+                }
+                int radius = 64;
+                if (args.length > 1) {
+                    try {
+                        radius = Math.max(0, Integer.parseInt(args[1]));
+                    } catch (NumberFormatException ex) {
+                        sender.sendMessage(plugin.msg().prefix() + " &cRadius must be a number.");
+                        return true;
+                    }
+                }
+                int[] shown = {0};
+                int[] total = {0};
+                plugin.store().visitRadius(p.getLocation(), radius, plot -> {
+                    if (shown[0] < NEAR_LIMIT) {
+                        sender.sendMessage(plugin.msg().prefix() + " &e" + plot.getOwnerName() + " &7("
+                                + plot.getX1() + ", " + plot.getZ1() + ") → (" + plot.getX2() + ", " + plot.getZ2() + ")");
+                        shown[0]++;
+                    }
+                    total[0]++;
+                    return true;
+                });
+                sender.sendMessage(plugin.msg().prefix() + " &7" + total[0] + " plot(s) within &e" + radius + "&7 blocks.");
+                return true;
+            }
+
             default -> {
                 sender.sendMessage(plugin.msg().prefix() + "&cUnknown admin subcommand.");
                 return true;
@@ -1,20 +1,27 @@
 package com.aegisguard.config;
 
 import com.aegisguard.AegisGuard;
+import org.bukkit.configuration.ConfigurationSection;
 import org.bukkit.configuration.file.FileConfiguration;
 
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 
 /**
  * AGConfig
  * - Wraps config.yml access
  * - Provides safe lookups with defaults
  * - Syncs new features (limits, admin options, sounds, protections)
+ * - Resolves per-world claim settings (ClaimSettings) once per reload
  */
 public class AGConfig {
 
     private final AegisGuard plugin;
     private FileConfiguration cfg;
+    private volatile ClaimSettings globalClaims;
+    private volatile Map<String, ClaimSettings> worldClaims = Map.of();
+    private volatile boolean adminBypassClaimLimit;
 
     public AGConfig(AegisGuard plugin) {
         this.plugin = plugin;
@@ -27,11 +34,33 @@ public class AGConfig {
     public void reload() {
         plugin.reloadConfig();
         this.cfg = plugin.getConfig();
+        buildClaimSettings();
+    }
+
+    private void buildClaimSettings() {
+        ClaimSettings global = ClaimSettings.global(cfg, plugin.getLogger());
+        Map<String, ClaimSettings> byWorld = new HashMap<>();
+        ConfigurationSection perWorld = cfg.getConfigurationSection("claims.per_world");
+        if (perWorld != null) {
+            for (String world : perWorld.getKeys(false)) {
+                ConfigurationSection s = perWorld.getConfigurationSection(world);
+                if (s != null) byWorld.put(world, ClaimSettings.world(s, global, plugin.getLogger()));
+            }
+        }
+        this.globalClaims = global;
+        this.worldClaims = Map.copyOf(byWorld);
+        this.adminBypassClaimLimit = cfg.getBoolean("admin.bypass_claim_limit", false);
     }
 
     /* -----------------------------
      * Claiming & Limits
      * ----------------------------- */
+    /** Claim rules for a world (per-world section over global defaults); no config parsing. */
+    public ClaimSettings claims(String world) {
+        ClaimSettings s = worldClaims.get(world);
+        return s != null ? s : globalClaims;
+    }
+
     public int getMaxClaimsPerPlayer() {
         return cfg.getInt("claims.max_claims_per_player", 1);
     }
@@ -119,8 +148,14 @@ public class AGConfig {
         return cfg.getBoolean("admin.auto_remove_banned_plots", false);
     }
 
+    /** Cached with the claim settings (read inside PlotStore.createPlot under its locks). */
     public boolean adminBypassClaimLimit() {
-        return cfg.getBoolean("admin.bypass_claim_limit", false);
+        return adminBypassClaimLimit;
+    }
+
+    /** Called after the admin GUI flips the toggle in the live config. */
+    public void setAdminBypassClaimLimit(boolean value) {
+        this.adminBypassClaimLimit = value;
     }
 
     public boolean broadcastAdminActions() {
@@ -0,0 +1,72 @@
+package com.aegisguard.config;
+
+import org.bukkit.Material;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.logging.Logger;
+
+/**
+ * ClaimSettings
+ * - Resolved claim rules for one world: claims.per_world.<world>.* over the global defaults
+ * - Built by AGConfig on startup / reload; claim and unclaim read plain fields
+ * - itemType is resolved once (null if the configured name is not a material)
+ */
+public record ClaimSettings(
+        int maxClaims,
+        boolean useVault,
+        double vaultCost,
+        Material itemType,
+        String itemName,
+        int itemAmount,
+        boolean refundOnUnclaim,
+        int refundPercent,
+        int minRadius,
+        int maxRadius,
+        int maxArea
+) {
+
+    /** Global defaults (top-level economy keys + the claims section). */
+    static ClaimSettings global(FileConfiguration cfg, Logger log) {
+        String item = cfg.getString("item_cost.type", "DIAMOND");
+        return new ClaimSettings(
+                cfg.getInt("claims.max_claims_per_player", 1),
+                cfg.getBoolean("use_vault", true),
+                cfg.getDouble("claim_cost", 0.0),
+                material(item, "item_cost.type", log),
+                item,
+                cfg.getInt("item_cost.amount", 0),
+                cfg.getBoolean("refund_on_unclaim", false),
+                cfg.getInt("refund_percent", 0),
+                cfg.getInt("claims.min_radius", 1),
+                cfg.getInt("claims.max_radius", 32),
+                cfg.getInt("claims.max_area", 16000)
+        );
+    }
+
+    /** One claims.per_world.<world> section; unset keys fall back to {@code def}. */
+    static ClaimSettings world(ConfigurationSection s, ClaimSettings def, Logger log) {
+        String item = s.getString("item_cost.type", def.itemName());
+        Material type = item.equals(def.itemName()) ? def.itemType()
+                : material(item, s.getCurrentPath() + ".item_cost.type", log);
+        return new ClaimSettings(
+                s.getInt("max_claims_per_player", def.maxClaims()),
+                s.getBoolean("use_vault", def.useVault()),
+                s.getDouble("vault_cost", def.vaultCost()),
+                type,
+                item,
+                s.getInt("item_cost.amount", def.itemAmount()),
+                s.getBoolean("refund_on_unclaim", def.refundOnUnclaim()),
+                s.getInt("refund_percent", def.refundPercent()),
+                s.getInt("min_radius", def.minRadius()),
+                s.getInt("max_radius", def.maxRadius()),
+                s.getInt("max_area", def.maxArea())
+        );
+    }
+
+    private static Material material(String name, String path, Logger log) {
+        Material m = Material.matchMaterial(name);
+        if (m == null) log.warning("[AegisGuard] Unknown material '" + name + "' at " + path + "; item costs disabled there.");
+        return m;
+    }
+}
@@ -0,0 +1,183 @@
+package com.aegisguard.data;
+
+import java.util.Arrays;
+
+/**
+ * ChunkBitmap
+ * - Sparse set of claimed chunks for one world ("chunk has at least one plot")
+ * - Roaring-style: chunks are grouped into 32x32 regions; only regions containing a
+ *   claimed chunk get a 1024-bit container (long[16]); empty regions cost nothing
+ * - Region table is a small open-addressing long -> long[] map (power-of-two, linear probing)
+ * - Membership is one region probe + one bit test, so wilderness lookups are rejected before
+ *   the chunk -> plots index is touched
+ * - copy() shares every container with the copy; the writer clones a container only the first time
+ *   it changes it afterwards, so a snapshot costs one pass over the region table, not the bits
+ *
+ * Kept in sync by WorldPlots.add / remove. Not thread-safe: readers only see frozen copies
+ * published in WorldPlots.Index.
+ */
+final class ChunkBitmap {
+
+    private static final int REGION_SHIFT = 5;                  // 32 chunks per region side
+    private static final int REGION_MASK = (1 << REGION_SHIFT) - 1;
+    private static final int WORDS = (1 << (REGION_SHIFT * 2)) / 64; // 1024 bits -> 16 longs
+
+    private long[] keys = new long[16];
+    private long[][] regions = new long[16][]; // null slot = empty
+    private int[] stamps = new int[16];        // container may be written in place iff stamps[i] == epoch
+    private int epoch = 1;
+    private int size;
+    private int mask = 15;
+
+    /* -----------------------------
+     * Reads
+     * ----------------------------- */
+    boolean contains(int chunkX, int chunkZ) {
+        long[] words = region(regionKey(chunkX, chunkZ));
+        if (words == null) return false;
+        int bit = bitIndex(chunkX, chunkZ);
+        return (words[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /** Number of regions holding at least one claimed chunk. */
+    int regionCount() { return size; }
+
+    /** Independent copy sharing all containers; both sides clone a shared container before writing it. */
+    ChunkBitmap copy() {
+        ChunkBitmap c = new ChunkBitmap();
+        c.keys = keys.clone();
+        c.regions = regions.clone();
+        c.stamps = new int[stamps.length]; // 0 != c.epoch: every container shared
+        c.size = size;
+        c.mask = mask;
+        if (++epoch == 0) { // wrapped: forget old stamps so none can match again by accident
+            Arrays.fill(stamps, 0);
+            epoch = 1;
+        }
+        return c;
+    }
+
+    /* -----------------------------
+     * Writes
+     * ----------------------------- */
+    void set(int chunkX, int chunkZ) {
+        long key = regionKey(chunkX, chunkZ);
+        int bit = bitIndex(chunkX, chunkZ);
+        int i = find(key);
+        if (i < 0) {
+            long[] words = new long[WORDS];
+            words[bit >>> 6] = 1L << bit;
+            insert(key, words);
+            return;
+        }
+        if ((regions[i][bit >>> 6] & (1L << bit)) != 0) return; // already set: keep sharing
+        writable(i)[bit >>> 6] |= 1L << bit;
+    }
+
+    void clear(int chunkX, int chunkZ) {
+        int i = find(regionKey(chunkX, chunkZ));
+        if (i < 0) return;
+        int bit = bitIndex(chunkX, chunkZ);
+        long[] words = regions[i];
+        if ((words[bit >>> 6] & (1L << bit)) == 0) return;
+        for (int w = 0; w < WORDS; w++) {
+            long rest = w == bit >>> 6 ? words[w] & ~(1L << bit) : words[w];
+            if (rest != 0) {
+                writable(i)[bit >>> 6] &= ~(1L << bit);
+                return;
+            }
+        }
+        delete(i); // region emptied: drop it without cloning
+    }
+
+    void clearAll() {
+        Arrays.fill(regions, null);
+        size = 0;
+    }
+
+    /* -----------------------------
+     * Internals
+     * ----------------------------- */
+    private static long regionKey(int chunkX, int chunkZ) {
+        return PlotStore.chunkKey(chunkX >> REGION_SHIFT, chunkZ >> REGION_SHIFT);
+    }
+
+    private static int bitIndex(int chunkX, int chunkZ) {
+        return ((chunkX & REGION_MASK) << REGION_SHIFT) | (chunkZ & REGION_MASK);
+    }
+
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private long[] region(long key) {
+        int i = find(key);
+        return i < 0 ? null : regions[i];
+    }
+
+    private int find(long key) {
+        int i = slot(key);
+        while (regions[i] != null) {
+            if (keys[i] == key) return i;
+            i = (i + 1) & mask;
+        }
+        return -1;
+    }
+
+    /** Container at slot i, cloned first if it is still shared with a copy. */
+    private long[] writable(int i) {
+        if (stamps[i] != epoch) {
+            regions[i] = regions[i].clone();
+            stamps[i] = epoch;
+        }
+        return regions[i];
+    }
+
+    private void insert(long key, long[] words) {
+        if ((size + 1) * 2 > regions.length) grow();
+        int i = slot(key);
+        while (regions[i] != null) i = (i + 1) & mask;
+        keys[i] = key;
+        regions[i] = words;
+        stamps[i] = epoch;
+        size++;
+    }
+
+    private void delete(int i) {
+        // Backward-shift deletion (same scheme as LongPlotMap); stamps move with their containers
+        int last = i;
+        int j = (i + 1) & mask;
+        while (regions[j] != null) {
+            int ideal = slot(keys[j]);
+            boolean movable = (last <= j) ? (ideal <= last || ideal > j) : (ideal <= last && ideal > j);
+            if (movable) {
+                keys[last] = keys[j];
+                regions[last] = regions[j];
+                stamps[last] = stamps[j];
+                last = j;
+            }
+            j = (j + 1) & mask;
+        }
+        regions[last] = null;
+        size--;
+    }
+
+    private void grow() {
+        long[] oldKeys = keys;
+        long[][] oldRegions = regions;
+        int[] oldStamps = stamps;
+        keys = new long[oldKeys.length << 1];
+        regions = new long[oldRegions.length << 1][];
+        stamps = new int[oldStamps.length << 1];
+        mask = regions.length - 1;
+        for (int i = 0; i < oldRegions.length; i++) {
+            if (oldRegions[i] == null) continue;
+            int j = slot(oldKeys[i]);
+            while (regions[j] != null) j = (j + 1) & mask;
+            keys[j] = oldKeys[i];
+            regions[j] = oldRegions[i];
+            stamps[j] = oldStamps[i];
+        }
+    }
+}
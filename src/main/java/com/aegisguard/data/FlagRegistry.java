@@ -0,0 +1,53 @@
+package com.aegisguard.data;
+
+/**
+ * FlagRegistry
+ * - Fixed bit positions for the built-in plot flags
+ * - Plots store these as int masks (see PlotStore.Plot); anything else is a custom flag
+ * - Protection checks test a mask with a single AND instead of hashing flag names
+ *
+ * Bit order is persisted by name (see PlotSnapshotCodec), so new flags may be appended freely.
+ */
+public final class FlagRegistry {
+
+    private static final String[] NAMES = {
+            "pvp", "containers", "mobs", "pets", "entities", "farm", "safe_zone"
+    };
+
+    public static final int PVP        = 1;
+    public static final int CONTAINERS = 1 << 1;
+    public static final int MOBS       = 1 << 2;
+    public static final int PETS       = 1 << 3;
+    public static final int ENTITIES   = 1 << 4;
+    public static final int FARM       = 1 << 5;
+    public static final int SAFE_ZONE  = 1 << 6;
+
+    /** Every known flag. */
+    public static final int ALL = (1 << NAMES.length) - 1;
+
+    /** Flags a new plot starts with (all protections on, safe_zone unset). */
+    public static final int DEFAULTS = PVP | CONTAINERS | MOBS | PETS | ENTITIES | FARM;
+
+    private FlagRegistry() {}
+
+    /** Mask for a flag name, or 0 if it is not a built-in flag. */
+    public static int mask(String name) {
+        if (name == null) return 0;
+        return switch (name) {
+            case "pvp" -> PVP;
+            case "containers" -> CONTAINERS;
+            case "mobs" -> MOBS;
+            case "pets" -> PETS;
+            case "entities" -> ENTITIES;
+            case "farm" -> FARM;
+            case "safe_zone" -> SAFE_ZONE;
+            default -> 0;
+        };
+    }
+
+    /** Number of built-in flags (bit positions 0..count-1). */
+    public static int count() { return NAMES.length; }
+
+    /** Flag name at a bit position. */
+    public static String name(int bit) { return NAMES[bit]; }
+}
@@ -0,0 +1,224 @@
+package com.aegisguard.data;
+
+import com.aegisguard.data.PlotStore.Plot;
+
+import java.util.Arrays;
+
+/**
+ * LongPlotMap
+ * - Open-addressing hash table from a primitive long key to a Plot[] bucket
+ * - Linear probing, power-of-two capacity, backward-shift deletion (no tombstones)
+ * - Reads never box the key and never allocate
+ * - Slots live in fixed-size pages (256 slots). copy() shares every page with the copy; the writer
+ *   clones a page only the first time it changes it afterwards, so publishing a snapshot costs
+ *   O(capacity / 256) and each later change costs the pages it touches
+ *
+ * Used by PlotStore as the chunk -> plots index (key = PlotStore.chunkKey). Not thread-safe:
+ * the writer mutates its own copy and readers only see frozen copies (see WorldPlots.Index).
+ */
+final class LongPlotMap {
+
+    private static final int DEFAULT_CAPACITY = 64;
+    private static final float LOAD_FACTOR = 0.5f;
+    private static final int PAGE_BITS = 8;
+    private static final Plot[] EMPTY = new Plot[0];
+
+    private long[][] keyPages;
+    private Plot[][][] valuePages; // null slot = empty
+    private int[] pageEpoch;       // page may be written in place iff pageEpoch[page] == epoch
+    private int epoch = 1;
+    private int pageBits;
+    private int pageMask;
+    private int size;
+    private int mask;
+    private int resizeAt;
+
+    LongPlotMap() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    LongPlotMap(int expected) {
+        int cap = Integer.highestOneBit(Math.max(4, (int) (expected / LOAD_FACTOR)) - 1) << 1;
+        allocate(cap);
+    }
+
+    /* -----------------------------
+     * Reads (allocation-free)
+     * ----------------------------- */
+    Plot[] get(long key) {
+        int i = slot(key);
+        Plot[] v;
+        while ((v = value(i)) != null) {
+            if (key(i) == key) return v;
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    boolean containsKey(long key) {
+        return get(key) != null;
+    }
+
+    int size() { return size; }
+
+    boolean isEmpty() { return size == 0; }
+
+    int capacity() { return mask + 1; }
+
+    /**
+     * Independent copy sharing all pages (buckets are replaced on change, never mutated). Both maps
+     * clone a shared page before their next write to it.
+     */
+    LongPlotMap copy() {
+        LongPlotMap c = new LongPlotMap(4);
+        c.keyPages = keyPages.clone();
+        c.valuePages = valuePages.clone();
+        c.pageEpoch = new int[pageEpoch.length]; // 0 != c.epoch: every page shared
+        c.pageBits = pageBits;
+        c.pageMask = pageMask;
+        c.size = size;
+        c.mask = mask;
+        c.resizeAt = resizeAt;
+        if (++epoch == 0) { // wrapped: forget old stamps so none can match again by accident
+            Arrays.fill(pageEpoch, 0);
+            epoch = 1;
+        }
+        return c;
+    }
+
+    /* -----------------------------
+     * Writes
+     * ----------------------------- */
+    void put(long key, Plot[] bucket) {
+        if (bucket == null || bucket.length == 0) {
+            remove(key);
+            return;
+        }
+        int i = slot(key);
+        while (value(i) != null) {
+            if (key(i) == key) {
+                set(i, key, bucket);
+                return;
+            }
+            i = (i + 1) & mask;
+        }
+        set(i, key, bucket);
+        if (++size >= resizeAt) rehash(capacity() << 1);
+    }
+
+    /** Appends a plot to the bucket at key (creating it if needed). */
+    void add(long key, Plot plot) {
+        Plot[] cur = get(key);
+        if (cur == null) cur = EMPTY;
+        Plot[] next = Arrays.copyOf(cur, cur.length + 1);
+        next[cur.length] = plot;
+        put(key, next);
+    }
+
+    /** Removes a plot (by identity) from the bucket at key; drops the bucket when it empties. */
+    void remove(long key, Plot plot) {
+        Plot[] cur = get(key);
+        if (cur == null) return;
+        for (int i = 0; i < cur.length; i++) {
+            if (cur[i] != plot) continue;
+            if (cur.length == 1) {
+                remove(key);
+                return;
+            }
+            Plot[] next = new Plot[cur.length - 1];
+            System.arraycopy(cur, 0, next, 0, i);
+            System.arraycopy(cur, i + 1, next, i, cur.length - i - 1);
+            put(key, next);
+            return;
+        }
+    }
+
+    Plot[] remove(long key) {
+        int i = slot(key);
+        Plot[] v;
+        while ((v = value(i)) != null) {
+            if (key(i) == key) {
+                shiftBack(i);
+                size--;
+                return v;
+            }
+            i = (i + 1) & mask;
+        }
+        return null;
+    }
+
+    void clear() {
+        allocate(capacity());
+        size = 0;
+    }
+
+    /* -----------------------------
+     * Internals
+     * ----------------------------- */
+    private int slot(long key) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    private long key(int i) { return keyPages[i >>> pageBits][i & pageMask]; }
+
+    private Plot[] value(int i) { return valuePages[i >>> pageBits][i & pageMask]; }
+
+    /** Writes one slot, first cloning its page if it is still shared with a copy. */
+    private void set(int i, long key, Plot[] value) {
+        int page = i >>> pageBits;
+        if (pageEpoch[page] != epoch) {
+            keyPages[page] = keyPages[page].clone();
+            valuePages[page] = valuePages[page].clone();
+            pageEpoch[page] = epoch;
+        }
+        keyPages[page][i & pageMask] = key;
+        valuePages[page][i & pageMask] = value;
+    }
+
+    /** Closes the gap at pos by moving back any entries whose probe chain passes through it. */
+    private void shiftBack(int pos) {
+        int last = pos;
+        int i = (pos + 1) & mask;
+        Plot[] v;
+        while ((v = value(i)) != null) {
+            int ideal = slot(key(i));
+            // Entry at i can fill 'last' if its ideal slot is not in the cyclic range (last, i]
+            boolean movable = (last <= i) ? (ideal <= last || ideal > i) : (ideal <= last && ideal > i);
+            if (movable) {
+                set(last, key(i), v);
+                last = i;
+            }
+            i = (i + 1) & mask;
+        }
+        set(last, 0L, null);
+    }
+
+    private void allocate(int capacity) {
+        pageBits = Math.min(PAGE_BITS, Integer.numberOfTrailingZeros(capacity));
+        pageMask = (1 << pageBits) - 1;
+        int pages = capacity >>> pageBits;
+        keyPages = new long[pages][1 << pageBits];
+        valuePages = new Plot[pages][1 << pageBits][];
+        pageEpoch = new int[pages];
+        Arrays.fill(pageEpoch, epoch); // fresh pages belong to this map
+        mask = capacity - 1;
+        resizeAt = (int) (capacity * LOAD_FACTOR);
+    }
+
+    private void rehash(int capacity) {
+        long[][] oldKeys = keyPages;
+        Plot[][][] oldValues = valuePages;
+        allocate(capacity);
+        for (int p = 0; p < oldValues.length; p++) {
+            for (int o = 0; o < oldValues[p].length; o++) {
+                Plot[] v = oldValues[p][o];
+                if (v == null) continue;
+                long k = oldKeys[p][o];
+                int j = slot(k);
+                while (value(j) != null) j = (j + 1) & mask;
+                set(j, k, v);
+            }
+        }
+    }
+}
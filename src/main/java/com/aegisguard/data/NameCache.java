@@ -0,0 +1,117 @@
+package com.aegisguard.data;
+
+import com.aegisguard.AegisGuard;
+import org.bukkit.Bukkit;
+import org.bukkit.entity.Player;
+import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
+import org.bukkit.event.Listener;
+import org.bukkit.event.player.PlayerJoinEvent;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * NameCache
+ * - Shared UUID -> last known player name map
+ * - Plots keep only UUIDs; display names for owners and trusted players come from here
+ * - Filled from PlayerJoinEvent and seeded from persisted plot data
+ * - Lookups never block: a miss returns "Unknown" and queues the UUID, and queued
+ *   misses are resolved off the main thread in batches
+ */
+public class NameCache implements Listener {
+
+    public static final String UNKNOWN = "Unknown";
+
+    private static final long BATCH_DELAY_TICKS = 20L;
+
+    private final AegisGuard plugin;
+    private final Map<UUID, String> names = new ConcurrentHashMap<>();
+    private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+    private final Set<UUID> unresolved = ConcurrentHashMap.newKeySet(); // no name on record; not retried
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+
+    public NameCache(AegisGuard plugin) {
+        this.plugin = plugin;
+        for (Player p : Bukkit.getOnlinePlayers()) put(p.getUniqueId(), p.getName()); // reload-safe
+    }
+
+    /* -----------------------------
+     * Lookups (non-blocking)
+     * ----------------------------- */
+    /** Last known name, or null (a miss is queued for resolution). */
+    public String get(UUID id) {
+        String n = names.get(id);
+        if (n == null) request(id);
+        return n;
+    }
+
+    /** Last known name, or "Unknown" (a miss is queued for resolution). */
+    public String name(UUID id) {
+        String n = get(id);
+        return n != null ? n : UNKNOWN;
+    }
+
+    /** Records a fresh name (e.g. from an online player). */
+    public void put(UUID id, String name) {
+        if (id == null || !isReal(name)) return;
+        names.put(id, name);
+        unresolved.remove(id);
+    }
+
+    /** Records a persisted name without overriding a fresher one. */
+    public void seed(UUID id, String name) {
+        if (id == null || !isReal(name)) return;
+        names.putIfAbsent(id, name);
+    }
+
+    public int size() { return names.size(); }
+
+    private static boolean isReal(String name) {
+        return name != null && !name.isEmpty() && !UNKNOWN.equals(name);
+    }
+
+    /* -----------------------------
+     * Join
+     * ----------------------------- */
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e) {
+        Player p = e.getPlayer();
+        put(p.getUniqueId(), p.getName());
+        plugin.store().renameOwner(p.getUniqueId(), p.getName()); // no-op unless the name changed
+    }
+
+    /* -----------------------------
+     * Batched miss resolution
+     * ----------------------------- */
+    private void request(UUID id) {
+        if (id == null || unresolved.contains(id) || !pending.add(id)) return;
+        if (!plugin.isEnabled() || !scheduled.compareAndSet(false, true)) return;
+        plugin.scheduler().runAsyncLater(this::resolvePending, BATCH_DELAY_TICKS);
+    }
+
+    /** Runs async: resolves every queued UUID through the server's profile cache. */
+    private void resolvePending() {
+        scheduled.set(false);
+        List<UUID> batch = new ArrayList<>(pending.size());
+        for (Iterator<UUID> it = pending.iterator(); it.hasNext(); ) {
+            batch.add(it.next());
+            it.remove();
+        }
+        for (UUID id : batch) {
+            if (names.containsKey(id)) continue;
+            String n = Bukkit.getOfflinePlayer(id).getName();
+            if (isReal(n)) names.put(id, n);
+            else unresolved.add(id);
+        }
+        if (!pending.isEmpty() && plugin.isEnabled() && scheduled.compareAndSet(false, true)) {
+            plugin.scheduler().runAsyncLater(this::resolvePending, BATCH_DELAY_TICKS);
+        }
+    }
+}
@@ -0,0 +1,148 @@
+package com.aegisguard.data;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.StandardOpenOption;
+import java.util.UUID;
+
+/**
+ * PlotJournal
+ * - Append-only log of plot mutations, stored next to the snapshot (plots.journal)
+ * - One tab-separated record per line; a torn last line is ignored on replay
+ * - Replayed over the last snapshot on load, truncated after each compaction
+ *
+ * Records:
+ *   C  plotId owner ownerName world x1 z1 x2 z2   (plot created)
+ *   R  plotId                                     (plot removed)
+ *   T+ plotId trusted name                        (trust added)
+ *   T- plotId trusted                             (trust removed)
+ *   F  plotId flag true|false                     (flag set)
+ *   N  owner name                                 (owner name changed)
+ *
+ * Append/truncate are only called from the persister's IO thread.
+ */
+final class PlotJournal {
+
+    /** Receives replayed records (PlotStore applies them to its in-memory state). */
+    interface Replayer {
+        void created(UUID plotId, UUID owner, String ownerName, String world, int x1, int z1, int x2, int z2);
+        void removed(UUID plotId);
+        void trustAdded(UUID plotId, UUID trusted, String name);
+        void trustRemoved(UUID plotId, UUID trusted);
+        void flagSet(UUID plotId, String flag, boolean value);
+        void ownerNamed(UUID owner, String name);
+    }
+
+    private final File file;
+    private BufferedWriter writer;
+    private long size; // bytes on disk (UTF-8), compared against storage.journal_compact_bytes
+
+    PlotJournal(File file) {
+        this.file = file;
+        this.size = file.length();
+    }
+
+    /* -----------------------------
+     * Record encoding
+     * ----------------------------- */
+    static String created(PlotStore.Plot p) {
+        return join("C", p.getPlotId(), p.getOwner(), p.getOwnerName(), p.getWorld(),
+                p.getX1(), p.getZ1(), p.getX2(), p.getZ2());
+    }
+
+    static String removed(UUID plotId)                            { return join("R", plotId); }
+    static String trustAdded(UUID plotId, UUID t, String name)    { return join("T+", plotId, t, name); }
+    static String trustRemoved(UUID plotId, UUID t)               { return join("T-", plotId, t); }
+    static String flagSet(UUID plotId, String flag, boolean val)  { return join("F", plotId, flag, val); }
+    static String ownerNamed(UUID owner, String name)             { return join("N", owner, name); }
+
+    private static String join(Object... parts) {
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < parts.length; i++) {
+            if (i > 0) sb.append('\t');
+            sb.append(String.valueOf(parts[i]).replace('\t', ' ').replace('\n', ' ').replace('\r', ' '));
+        }
+        return sb.append('\n').toString();
+    }
+
+    /* -----------------------------
+     * IO (persister thread)
+     * ----------------------------- */
+    void append(String record) throws IOException {
+        if (writer == null) {
+            writer = Files.newBufferedWriter(file.toPath(), StandardCharsets.UTF_8,
+                    StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        }
+        writer.write(record);
+        writer.flush();
+        size += utf8Length(record);
+    }
+
+    /** Encoded UTF-8 size of {@code s} without allocating the bytes. */
+    static int utf8Length(String s) {
+        int n = 0;
+        for (int i = 0; i < s.length(); i++) {
+            char c = s.charAt(i);
+            if (c < 0x80) n += 1;
+            else if (c < 0x800) n += 2;
+            else if (Character.isHighSurrogate(c) && i + 1 < s.length() && Character.isLowSurrogate(s.charAt(i + 1))) {
+                n += 4;
+                i++;
+            } else n += 3;
+        }
+        return n;
+    }
+
+    /** Drops all records (called once their effects are in a fresh snapshot). */
+    void truncate() throws IOException {
+        close();
+        Files.deleteIfExists(file.toPath());
+        size = 0;
+    }
+
+    void close() throws IOException {
+        if (writer != null) {
+            writer.close();
+            writer = null;
+        }
+    }
+
+    long size() { return size; }
+
+    /* -----------------------------
+     * Replay (load)
+     * ----------------------------- */
+    /** Applies every well-formed record in order; returns how many were applied. */
+    int replay(Replayer r) throws IOException {
+        if (!file.exists()) return 0;
+        int applied = 0;
+        try (BufferedReader in = Files.newBufferedReader(file.toPath(), StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = in.readLine()) != null) {
+                if (line.isEmpty()) continue;
+                String[] f = line.split("\t", -1);
+                try {
+                    switch (f[0]) {
+                        case "C" -> r.created(UUID.fromString(f[1]), UUID.fromString(f[2]), f[3], f[4],
+                                Integer.parseInt(f[5]), Integer.parseInt(f[6]),
+                                Integer.parseInt(f[7]), Integer.parseInt(f[8]));
+                        case "R" -> r.removed(UUID.fromString(f[1]));
+                        case "T+" -> r.trustAdded(UUID.fromString(f[1]), UUID.fromString(f[2]), f[3]);
+                        case "T-" -> r.trustRemoved(UUID.fromString(f[1]), UUID.fromString(f[2]));
+                        case "F" -> r.flagSet(UUID.fromString(f[1]), f[2], Boolean.parseBoolean(f[3]));
+                        case "N" -> r.ownerNamed(UUID.fromString(f[1]), f[2]);
+                        default -> { continue; }
+                    }
+                    applied++;
+                } catch (IllegalArgumentException | ArrayIndexOutOfBoundsException ignored) {
+                    // torn or corrupt record: skip
+                }
+            }
+        }
+        return applied;
+    }
+}
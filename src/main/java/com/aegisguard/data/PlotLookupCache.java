@@ -0,0 +1,66 @@
+package com.aegisguard.data;
+
+import com.aegisguard.data.PlotStore.Plot;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * PlotLookupCache
+ * - Per-player memo of the last resolved plot (or plot-free chunk) for PlotStore.getPlotAt
+ * - A memo answers when the world and store generation match and the point is inside the
+ *   memoized plot (or in the same plot-free chunk): a few int compares, no index probe
+ * - Any create / remove / resize bumps PlotStore's generation, which invalidates every memo
+ * - Hit / miss counters for /aegisadmin stats
+ *
+ * Safe from any thread: memos are immutable and swapped in a concurrent map on a miss.
+ */
+final class PlotLookupCache {
+
+    static final class Memo {
+        private final WorldPlots world;
+        private final long generation;
+        private final long chunk;
+        private final boolean emptyChunk;
+        private final Plot plot;
+
+        Memo(WorldPlots world, long generation, long chunkKey, Plot found, boolean chunkIsEmpty) {
+            this.world = world;
+            this.generation = generation;
+            this.chunk = chunkKey;
+            this.plot = found;
+            this.emptyChunk = chunkIsEmpty;
+        }
+
+        boolean answers(WorldPlots w, long gen, int x, int z) {
+            if (world != w || generation != gen) return false;
+            if (plot != null) return plot.contains(x, z);
+            return emptyChunk && chunk == PlotStore.chunkKey(x >> 4, z >> 4);
+        }
+
+        Plot plot() { return plot; }
+    }
+
+    private final Map<UUID, Memo> memos = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    /** Last memo for a player, or null. */
+    Memo memo(UUID player) { return memos.get(player); }
+
+    void remember(UUID player, Memo memo) { memos.put(player, memo); }
+
+    void hit()  { hits.increment(); }
+
+    void miss() { misses.increment(); }
+
+    void forget(UUID player) { memos.remove(player); }
+
+    void clear() { memos.clear(); }
+
+    long hits() { return hits.sum(); }
+
+    long misses() { return misses.sum(); }
+}
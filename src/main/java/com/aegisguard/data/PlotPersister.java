@@ -0,0 +1,215 @@
+package com.aegisguard.data;
+
+import com.aegisguard.AegisGuard;
+import com.aegisguard.util.AtomicFiles;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Function;
+import java.util.logging.Level;
+
+/**
+ * PlotPersister
+ * - Write-behind persistence for plots.dat (binary snapshot, see PlotSnapshotCodec) + plots.journal
+ * - Each mutation appends one small journal record (cost scales with the change)
+ * - markDirty() requests a compaction: one full snapshot, coalesced and taken on an async thread,
+ *   after which the journal is truncated. Triggered once the journal passes a size threshold.
+ * - Encoding + all file IO run on a single background thread, in submission order
+ * - Snapshots go to a temp file and are moved into place atomically
+ * - flushSync() is the only blocking path (used on disable)
+ */
+final class PlotPersister {
+
+    /** Immutable copy of one plot, safe to hand to the IO thread. */
+    record Entry(UUID owner, UUID plotId, String ownerName, String world,
+                 int x1, int z1, int x2, int z2,
+                 Map<UUID, String> trusted,
+                 int flagsSet, int flagValues, Map<String, Boolean> customFlags) {}
+
+    /**
+     * Copies the plots and hands the copy to {@code queue} before any further mutation can run.
+     * Work queued there lands on the IO thread ahead of every later journal record.
+     */
+    interface Snapshotter {
+        Future<?> capture(Function<List<Entry>, Future<?>> queue);
+    }
+
+    private final AegisGuard plugin;
+    private final File file;
+    private final PlotJournal journal;
+    private final long compactThreshold;
+    private final Snapshotter snapshotter;
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "AegisGuard-PlotIO");
+        t.setDaemon(true);
+        return t;
+    });
+
+    PlotPersister(AegisGuard plugin, File file, File journalFile, Snapshotter snapshotter) {
+        this.plugin = plugin;
+        this.file = file;
+        this.journal = new PlotJournal(journalFile);
+        this.compactThreshold = plugin.getConfig().getLong("storage.journal_compact_bytes", 1024L * 1024L);
+        this.snapshotter = snapshotter;
+    }
+
+    /* -----------------------------
+     * Journal
+     * ----------------------------- */
+    /** Queues one encoded journal record (see PlotJournal). */
+    void record(String record) {
+        io.execute(() -> {
+            try {
+                journal.append(record);
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.SEVERE, "[AegisGuard] Failed to append to plots.journal", ex);
+                return;
+            }
+            if (journal.size() > compactThreshold) markDirty();
+        });
+    }
+
+    /** Replays the journal over freshly loaded snapshot state. Waits for queued appends first. */
+    int replay(PlotJournal.Replayer replayer) {
+        drain();
+        try {
+            return journal.replay(replayer);
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.SEVERE, "[AegisGuard] Failed to replay plots.journal", ex);
+            return 0;
+        }
+    }
+
+    /** Blocks until every queued IO task has run. */
+    void drain() {
+        try {
+            io.submit(() -> {}).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException ignored) {
+        }
+    }
+
+    /* -----------------------------
+     * Scheduling
+     * ----------------------------- */
+    /** Requests a compaction. Repeated calls before the snapshot is taken collapse into one write. */
+    void markDirty() {
+        if (!plugin.isEnabled()) return; // disabling: close() flushes synchronously
+        if (!scheduled.compareAndSet(false, true)) return;
+        long delay = Math.max(1L, plugin.getConfig().getLong("storage.save_delay_ticks", 40L));
+        plugin.scheduler().runAsyncLater(this::captureAndWrite, delay); // PlotStore.snapshot is thread-safe
+    }
+
+    private void captureAndWrite() {
+        if (!scheduled.compareAndSet(true, false)) return; // already flushed synchronously
+        if (io.isShutdown()) return;                         // fired after close(); flushSync already wrote
+        snapshotter.capture(snapshot -> io.submit(() -> write(snapshot)));
+    }
+
+    /** Snapshots now without blocking; optional follow-up runs on the IO thread once written. */
+    void compactNow(Runnable afterWrite) {
+        scheduled.set(false);
+        snapshotter.capture(snapshot -> io.submit(() -> {
+            if (write(snapshot) && afterWrite != null) afterWrite.run();
+        }));
+    }
+
+    /** Writes the current plots as plots.yml-style YAML for hand editing (off-thread). */
+    void exportYaml(File target, Runnable onDone) {
+        snapshotter.capture(snapshot -> io.submit(() -> {
+            try {
+                AtomicFiles.write(target.toPath(), toYaml(snapshot).saveToString().getBytes(StandardCharsets.UTF_8));
+                if (onDone != null) onDone.run();
+            } catch (IOException ex) {
+                plugin.getLogger().log(Level.SEVERE, "[AegisGuard] Failed to export plots to " + target.getName(), ex);
+            }
+        }));
+    }
+
+    /** Snapshots now and blocks until that snapshot (and anything queued before it) is on disk. */
+    void flushSync() {
+        scheduled.set(false);
+        try {
+            snapshotter.capture(snapshot -> io.submit(() -> write(snapshot))).get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException e) {
+            plugin.getLogger().log(Level.SEVERE, "[AegisGuard] Failed to save " + file.getName(), e.getCause());
+        }
+    }
+
+    void shutdown() {
+        io.execute(() -> {
+            try {
+                journal.close();
+            } catch (IOException ignored) {
+            }
+        });
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[AegisGuard] Plot IO thread did not finish in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* -----------------------------
+     * IO thread
+     * ----------------------------- */
+    /** Writes a snapshot and truncates the journal; returns false if the snapshot could not be written. */
+    private boolean write(List<Entry> snapshot) {
+        try {
+            AtomicFiles.write(file.toPath(), PlotSnapshotCodec.encode(snapshot));
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.SEVERE, "[AegisGuard] Failed to save " + file.getName(), ex);
+            return false; // keep the journal: it is still needed on top of the old snapshot
+        }
+
+        // The write was queued while writers were excluded, so every record ahead of it is in the snapshot
+        try {
+            journal.truncate();
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.WARNING, "[AegisGuard] Failed to truncate plots.journal", ex);
+        }
+        return true;
+    }
+
+    static YamlConfiguration toYaml(List<Entry> snapshot) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        for (Entry e : snapshot) {
+            String path = "plots." + e.owner() + "." + e.plotId();
+            yaml.set(path + ".owner-name", e.ownerName());
+            yaml.set(path + ".world", e.world());
+            yaml.set(path + ".x1", e.x1());
+            yaml.set(path + ".z1", e.z1());
+            yaml.set(path + ".x2", e.x2());
+            yaml.set(path + ".z2", e.z2());
+            for (Map.Entry<UUID, String> tn : e.trusted().entrySet()) {
+                yaml.set(path + ".trusted." + tn.getKey(), tn.getValue());
+            }
+            for (int bit = 0; bit < FlagRegistry.count(); bit++) {
+                if ((e.flagsSet() & (1 << bit)) == 0) continue;
+                yaml.set(path + ".flags." + FlagRegistry.name(bit), (e.flagValues() & (1 << bit)) != 0);
+            }
+            for (Map.Entry<String, Boolean> flag : e.customFlags().entrySet()) {
+                yaml.set(path + ".flags." + flag.getKey(), flag.getValue());
+            }
+        }
+        return yaml;
+    }
+}
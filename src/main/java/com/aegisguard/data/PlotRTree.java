@@ -0,0 +1,232 @@
+package com.aegisguard.data;
+
+import com.aegisguard.data.PlotStore.Plot;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.function.Function;
+
+/**
+ * PlotRTree
+ * - Immutable (persistent) R-tree over one world's plot rectangles
+ * - build() bulk-loads with Sort-Tile-Recursive packing (full nodes, low overlap between siblings);
+ *   used after load / import
+ * - insert() / remove() return a new tree that shares every untouched node with this one: only the
+ *   root-to-leaf path is copied, so a single claim or unclaim costs O(log n), not a rebuild
+ * - Box queries visit only nodes whose bounds intersect the box: O(log n + k)
+ * - Readers holding an older tree are unaffected by later inserts / removes
+ *
+ * Bounds are inclusive block coordinates, matching Plot. Removal drops emptied nodes but does not
+ * rebalance underfull ones; the next bulk load repacks the tree.
+ */
+final class PlotRTree {
+
+    private static final int FANOUT = 16;
+
+    static final PlotRTree EMPTY = new PlotRTree(null, 0);
+
+    private static final Comparator<Plot> PLOT_X = Comparator.comparingLong(p -> (long) p.getX1() + p.getX2());
+    private static final Comparator<Plot> PLOT_Z = Comparator.comparingLong(p -> (long) p.getZ1() + p.getZ2());
+    private static final Comparator<Node> NODE_X = Comparator.comparingLong(n -> (long) n.minX + n.maxX);
+    private static final Comparator<Node> NODE_Z = Comparator.comparingLong(n -> (long) n.minZ + n.maxZ);
+
+    /** Never modified after construction, so any number of trees can share it. */
+    private static final class Node {
+        final int minX, minZ, maxX, maxZ;
+        final Node[] children; // inner node
+        final Plot[] plots;    // leaf
+
+        private Node(Node[] children, Plot[] plots) {
+            this.children = children;
+            this.plots = plots;
+            int x1 = Integer.MAX_VALUE, z1 = Integer.MAX_VALUE, x2 = Integer.MIN_VALUE, z2 = Integer.MIN_VALUE;
+            if (plots != null) {
+                for (Plot p : plots) {
+                    x1 = Math.min(x1, p.getX1()); z1 = Math.min(z1, p.getZ1());
+                    x2 = Math.max(x2, p.getX2()); z2 = Math.max(z2, p.getZ2());
+                }
+            } else {
+                for (Node c : children) {
+                    x1 = Math.min(x1, c.minX); z1 = Math.min(z1, c.minZ);
+                    x2 = Math.max(x2, c.maxX); z2 = Math.max(z2, c.maxZ);
+                }
+            }
+            this.minX = x1; this.minZ = z1; this.maxX = x2; this.maxZ = z2;
+        }
+
+        static Node leaf(Plot[] plots) { return new Node(null, plots); }
+
+        static Node inner(Node[] children) { return new Node(children, null); }
+
+        boolean intersects(int x1, int z1, int x2, int z2) {
+            return minX <= x2 && maxX >= x1 && minZ <= z2 && maxZ >= z1;
+        }
+
+        boolean covers(Plot p) {
+            return minX <= p.getX1() && maxX >= p.getX2() && minZ <= p.getZ1() && maxZ >= p.getZ2();
+        }
+
+        long area() { return (long) (maxX - minX + 1) * (maxZ - minZ + 1); }
+
+        /** Area growth if this node had to cover p as well. */
+        long enlargement(Plot p) {
+            long w = (long) Math.max(maxX, p.getX2()) - Math.min(minX, p.getX1()) + 1;
+            long h = (long) Math.max(maxZ, p.getZ2()) - Math.min(minZ, p.getZ1()) + 1;
+            return w * h - area();
+        }
+    }
+
+    private final Node root;
+    private final int size;
+
+    private PlotRTree(Node root, int size) {
+        this.root = root;
+        this.size = size;
+    }
+
+    int size() { return size; }
+
+    /* -----------------------------
+     * Build (STR bulk load)
+     * ----------------------------- */
+    static PlotRTree build(Collection<Plot> plots) {
+        if (plots.isEmpty()) return EMPTY;
+        Plot[] all = plots.toArray(new Plot[0]);
+
+        // Leaves, then inner levels until a single root remains
+        Node[] level = pack(all, PLOT_X, PLOT_Z, Node::leaf);
+        while (level.length > 1) level = pack(level, NODE_X, NODE_Z, Node::inner);
+        return new PlotRTree(level[0], all.length);
+    }
+
+    /** Sort-Tile-Recursive: slice by x centre, then pack each slice by z centre into full nodes. */
+    private static <T> Node[] pack(T[] items, Comparator<T> byX, Comparator<T> byZ, Function<T[], Node> make) {
+        int n = items.length;
+        int nodeCount = (n + FANOUT - 1) / FANOUT;
+        int slices = (int) Math.ceil(Math.sqrt(nodeCount));
+        int perSlice = slices * FANOUT;
+
+        Arrays.sort(items, byX);
+        Node[] out = new Node[nodeCount];
+        int o = 0;
+        for (int s = 0; s < n; s += perSlice) {
+            int end = Math.min(s + perSlice, n);
+            Arrays.sort(items, s, end, byZ);
+            for (int g = s; g < end; g += FANOUT) {
+                out[o++] = make.apply(Arrays.copyOfRange(items, g, Math.min(g + FANOUT, end)));
+            }
+        }
+        return o == out.length ? out : Arrays.copyOf(out, o);
+    }
+
+    /* -----------------------------
+     * Insert / remove (path copying)
+     * ----------------------------- */
+    /** New tree that also contains {@code plot}; this tree is unchanged. */
+    PlotRTree insert(Plot plot) {
+        if (root == null) return new PlotRTree(Node.leaf(new Plot[]{plot}), 1);
+        Node[] top = insert(root, plot);
+        return new PlotRTree(top.length == 1 ? top[0] : Node.inner(top), size + 1);
+    }
+
+    /** Returns the replacement for {@code node}: one node, or two if it overflowed and split. */
+    private static Node[] insert(Node node, Plot plot) {
+        if (node.plots != null) {
+            Plot[] next = Arrays.copyOf(node.plots, node.plots.length + 1);
+            next[node.plots.length] = plot;
+            return next.length <= FANOUT ? new Node[]{Node.leaf(next)} : split(next, PLOT_X, PLOT_Z, Node::leaf);
+        }
+
+        int best = 0;
+        long bestGrow = Long.MAX_VALUE, bestArea = Long.MAX_VALUE;
+        for (int i = 0; i < node.children.length; i++) {
+            Node c = node.children[i];
+            long grow = c.enlargement(plot);
+            if (grow < bestGrow || (grow == bestGrow && c.area() < bestArea)) {
+                best = i;
+                bestGrow = grow;
+                bestArea = c.area();
+            }
+        }
+
+        Node[] sub = insert(node.children[best], plot);
+        Node[] kids = Arrays.copyOf(node.children, node.children.length + sub.length - 1);
+        kids[best] = sub[0];
+        if (sub.length == 2) kids[kids.length - 1] = sub[1];
+        return kids.length <= FANOUT ? new Node[]{Node.inner(kids)} : split(kids, NODE_X, NODE_Z, Node::inner);
+    }
+
+    /** Splits an overflowing entry list in two halves along the longer side of its bounds. */
+    private static <T> Node[] split(T[] items, Comparator<T> byX, Comparator<T> byZ, Function<T[], Node> make) {
+        Node all = make.apply(items);
+        Arrays.sort(items, (all.maxX - all.minX) >= (all.maxZ - all.minZ) ? byX : byZ);
+        int half = items.length / 2;
+        return new Node[]{
+                make.apply(Arrays.copyOfRange(items, 0, half)),
+                make.apply(Arrays.copyOfRange(items, half, items.length))
+        };
+    }
+
+    /** New tree without {@code plot} (matched by identity); this tree if it was not present. */
+    PlotRTree remove(Plot plot) {
+        if (root == null) return this;
+        Node r = remove(root, plot);
+        if (r == root) return this;
+        while (r != null && r.children != null && r.children.length == 1) r = r.children[0]; // shrink height
+        return r == null ? EMPTY : new PlotRTree(r, size - 1);
+    }
+
+    /** Returns {@code node} itself if the plot is not under it, null if the node emptied, else its replacement. */
+    private static Node remove(Node node, Plot plot) {
+        if (!node.covers(plot)) return node;
+        if (node.plots != null) {
+            for (int i = 0; i < node.plots.length; i++) {
+                if (node.plots[i] != plot) continue;
+                return node.plots.length == 1 ? null : Node.leaf(without(node.plots, i));
+            }
+            return node;
+        }
+        for (int i = 0; i < node.children.length; i++) {
+            Node c = node.children[i];
+            Node r = remove(c, plot);
+            if (r == c) continue;
+            if (r == null) return node.children.length == 1 ? null : Node.inner(without(node.children, i));
+            Node[] kids = node.children.clone();
+            kids[i] = r;
+            return Node.inner(kids);
+        }
+        return node;
+    }
+
+    private static <T> T[] without(T[] a, int i) {
+        T[] out = Arrays.copyOf(a, a.length - 1);
+        System.arraycopy(a, i + 1, out, i, a.length - i - 1);
+        return out;
+    }
+
+    /* -----------------------------
+     * Query
+     * ----------------------------- */
+    /** Visits every plot whose rectangle intersects [x1..x2] x [z1..z2] (inclusive, normalized). */
+    boolean query(int x1, int z1, int x2, int z2, PlotStore.PlotVisitor visitor) {
+        if (root == null) return true;
+        return visit(root, x1, z1, x2, z2, visitor);
+    }
+
+    private static boolean visit(Node node, int x1, int z1, int x2, int z2, PlotStore.PlotVisitor visitor) {
+        if (!node.intersects(x1, z1, x2, z2)) return true;
+        if (node.plots != null) {
+            for (Plot p : node.plots) {
+                if (p.getX1() <= x2 && p.getX2() >= x1 && p.getZ1() <= z2 && p.getZ2() >= z1) {
+                    if (!visitor.visit(p)) return false;
+                }
+            }
+            return true;
+        }
+        for (Node c : node.children) {
+            if (!visit(c, x1, z1, x2, z2, visitor)) return false;
+        }
+        return true;
+    }
+}
@@ -0,0 +1,195 @@
+package com.aegisguard.data;
+
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.function.Consumer;
+
+/**
+ * PlotSnapshotCodec
+ * - Versioned binary snapshot format for plots.dat
+ * - Read in one pass from a heap buffer (no YAML parse, little transient garbage). Not memory-mapped:
+ *   a live mapping would lock plots.dat on Windows and make the next snapshot write fail
+ *
+ * Layout (big-endian):
+ *   int    magic 'AGPS'
+ *   short  version
+ *   int    known-flag count, then each flag name   (bit i of the flag masks = name i, see FlagRegistry)
+ *   int    world count, then each world name       (interned world table)
+ *   int    string count, then each string          (owner names, trusted names, custom flag keys)
+ *   int    plot count, then per plot:
+ *            long plotId msb/lsb, long owner msb/lsb
+ *            int  ownerName (string idx), int world (world idx)
+ *            int  x1, z1, x2, z2
+ *            int  known-flag present mask, int known-flag value mask
+ *            int  custom flag count, then (int key string idx, byte value)
+ *            int  trusted count, then (long msb, long lsb, int name string idx)
+ *   Strings are int length + UTF-8 bytes.
+ */
+final class PlotSnapshotCodec {
+
+    static final int MAGIC = 0x41475053; // "AGPS"
+    static final short VERSION = 1;
+
+    private PlotSnapshotCodec() {}
+
+    /* -----------------------------
+     * Encode
+     * ----------------------------- */
+    static byte[] encode(List<PlotPersister.Entry> entries) throws IOException {
+        Map<String, Integer> worlds = new LinkedHashMap<>();
+        Map<String, Integer> strings = new LinkedHashMap<>();
+        for (PlotPersister.Entry e : entries) {
+            worlds.putIfAbsent(e.world(), worlds.size());
+            strings.putIfAbsent(e.ownerName(), strings.size());
+            for (String name : e.trusted().values()) strings.putIfAbsent(name, strings.size());
+            for (String key : e.customFlags().keySet()) strings.putIfAbsent(key, strings.size());
+        }
+
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64 + entries.size() * 96);
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(MAGIC);
+        out.writeShort(VERSION);
+
+        List<String> flagNames = new ArrayList<>(FlagRegistry.count());
+        for (int bit = 0; bit < FlagRegistry.count(); bit++) flagNames.add(FlagRegistry.name(bit));
+        writeTable(out, flagNames);
+        writeTable(out, worlds.keySet());
+        writeTable(out, strings.keySet());
+
+        out.writeInt(entries.size());
+        for (PlotPersister.Entry e : entries) {
+            writeUuid(out, e.plotId());
+            writeUuid(out, e.owner());
+            out.writeInt(strings.get(e.ownerName()));
+            out.writeInt(worlds.get(e.world()));
+            out.writeInt(e.x1());
+            out.writeInt(e.z1());
+            out.writeInt(e.x2());
+            out.writeInt(e.z2());
+
+            out.writeInt(e.flagsSet());
+            out.writeInt(e.flagValues());
+            out.writeInt(e.customFlags().size());
+            for (Map.Entry<String, Boolean> f : e.customFlags().entrySet()) {
+                out.writeInt(strings.get(f.getKey()));
+                out.writeByte(Boolean.TRUE.equals(f.getValue()) ? 1 : 0);
+            }
+
+            out.writeInt(e.trusted().size());
+            for (Map.Entry<UUID, String> t : e.trusted().entrySet()) {
+                writeUuid(out, t.getKey());
+                out.writeInt(strings.get(t.getValue()));
+            }
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void writeTable(DataOutputStream out, Iterable<String> table) throws IOException {
+        int count = 0;
+        for (String ignored : table) count++;
+        out.writeInt(count);
+        for (String s : table) {
+            byte[] b = s.getBytes(StandardCharsets.UTF_8);
+            out.writeInt(b.length);
+            out.write(b);
+        }
+    }
+
+    private static void writeUuid(DataOutputStream out, UUID id) throws IOException {
+        out.writeLong(id.getMostSignificantBits());
+        out.writeLong(id.getLeastSignificantBits());
+    }
+
+    /* -----------------------------
+     * Decode
+     * ----------------------------- */
+    /** Streams every plot in the snapshot to the sink; returns the number of plots read. */
+    static int read(Path path, Consumer<PlotPersister.Entry> sink) throws IOException {
+        ByteBuffer buf = ByteBuffer.wrap(Files.readAllBytes(path)); // file handle closed before decoding
+        try {
+            return decode(buf, sink);
+        } catch (RuntimeException ex) { // BufferUnderflow, bad index, ...
+            throw new IOException("Corrupt plot snapshot " + path.getFileName(), ex);
+        }
+    }
+
+    private static int decode(ByteBuffer buf, Consumer<PlotPersister.Entry> sink) throws IOException {
+        if (buf.getInt() != MAGIC) throw new IOException("Not an AegisGuard plot snapshot");
+        short version = buf.getShort();
+        if (version != VERSION) throw new IOException("Unsupported plot snapshot version " + version);
+
+        // Map the file's flag bits onto the current registry (unknown names become custom flags)
+        String[] flagNames = readTable(buf);
+        int[] flagMasks = new int[flagNames.length];
+        for (int bit = 0; bit < flagNames.length; bit++) flagMasks[bit] = FlagRegistry.mask(flagNames[bit]);
+        String[] worlds = readTable(buf);
+        String[] strings = readTable(buf);
+
+        int count = buf.getInt();
+        for (int i = 0; i < count; i++) {
+            UUID plotId = new UUID(buf.getLong(), buf.getLong());
+            UUID owner = new UUID(buf.getLong(), buf.getLong());
+            String ownerName = strings[buf.getInt()];
+            String world = worlds[buf.getInt()];
+            int x1 = buf.getInt(), z1 = buf.getInt(), x2 = buf.getInt(), z2 = buf.getInt();
+
+            int filePresent = buf.getInt();
+            int fileValues = buf.getInt();
+            int present = 0, values = 0;
+            Map<String, Boolean> custom = Map.of();
+            for (int bit = 0; bit < flagNames.length; bit++) {
+                if ((filePresent & (1 << bit)) == 0) continue;
+                boolean on = (fileValues & (1 << bit)) != 0;
+                int m = flagMasks[bit];
+                if (m == 0) {
+                    if (custom.isEmpty()) custom = new LinkedHashMap<>();
+                    custom.put(flagNames[bit], on);
+                    continue;
+                }
+                present |= m;
+                if (on) values |= m;
+            }
+            int customCount = buf.getInt();
+            for (int c = 0; c < customCount; c++) {
+                String key = strings[buf.getInt()];
+                boolean on = buf.get() != 0;
+                if (custom.isEmpty()) custom = new LinkedHashMap<>();
+                custom.put(key, on);
+            }
+
+            int trustedCount = buf.getInt();
+            Map<UUID, String> trusted = new LinkedHashMap<>(Math.max(4, trustedCount * 2));
+            for (int t = 0; t < trustedCount; t++) {
+                UUID id = new UUID(buf.getLong(), buf.getLong());
+                trusted.put(id, strings[buf.getInt()]);
+            }
+
+            sink.accept(new PlotPersister.Entry(owner, plotId, ownerName, world, x1, z1, x2, z2,
+                    trusted, present, values, custom));
+        }
+        return count;
+    }
+
+    private static String[] readTable(ByteBuffer buf) {
+        String[] table = new String[buf.getInt()];
+        for (int i = 0; i < table.length; i++) {
+            int len = buf.getInt();
+            ByteBuffer slice = buf.slice();
+            slice.limit(len);
+            table[i] = StandardCharsets.UTF_8.decode(slice).toString();
+            buf.position(buf.position() + len);
+        }
+        return table;
+    }
+}
@@ -5,32 +5,82 @@ import org.bukkit.BanList;
 import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.OfflinePlayer;
+import org.bukkit.World;
 import org.bukkit.configuration.file.FileConfiguration;
 import org.bukkit.configuration.file.YamlConfiguration;
+import org.bukkit.entity.Player;
 
 import java.io.File;
 import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.function.Supplier;
+import java.util.function.ToIntFunction;
 
 /**
  * PlotStore
  * - Multi-plot support (per player configurable via config)
  * - Stores: owner, bounds, trusted, flags
- * - Persists to plots.yml
+ * - Trusted members are UUIDs only; names live in the shared NameCache
+ * - Persists to plots.dat binary snapshot + plots.journal mutation log (write-behind, see PlotPersister)
+ * - Converts an existing plots.yml once; YAML export/import for hand editing
+ * - Per-world containers (bound by World UID) with a chunk index for fast location lookups
+ * - Per-player last-plot memo in front of the chunk index (PlotLookupCache), invalidated by a generation counter
+ * - Area queries (box / radius, list or streaming visitor) backed by a per-world R-tree
+ * - Caches each plot's effective protections (own flags + safe_zone + world rules) as one mask
  * - Optional: sweep & remove banned players' plots
+ *
+ * Threading: reads are lock-free and safe from any thread (Folia regions, async callers).
+ * Lookups go through immutable per-world snapshots (WorldPlots.Index) and concurrent maps of
+ * immutable lists; writes publish a new snapshot when done.
+ * Writes lock by stripe, always in this order: structure (shared; exclusive for load / import /
+ * snapshot) -> owner stripe (claim limit, owner list) -> world (its index and its plots' state).
+ * Claims in one world never wait on changes in another.
  */
 public class PlotStore {
 
     private final AegisGuard plugin;
-    private final File file;
-    private FileConfiguration data;
+    private final File file;        // plots.dat (binary snapshot)
+    private final File legacyFile;  // plots.yml (converted once, then retired)
+    private final PlotPersister persister;
+    private final NameCache names;
 
-    // Map<OwnerUUID, List<Plot>>
-    private final Map<UUID, List<Plot>> plots = new HashMap<>();
+    // Write locks (reads never take them); see class doc for the order
+    private static final int OWNER_STRIPES = 64;
+    private final ReentrantReadWriteLock structure = new ReentrantReadWriteLock();
+    private final Object[] ownerLocks = new Object[OWNER_STRIPES];
+    private boolean bulk; // load / import (structure held exclusively): publish once at the end
+
+    // Map<OwnerUUID, List<Plot>>; lists are immutable and replaced on change
+    private final Map<UUID, List<Plot>> plots = new ConcurrentHashMap<>();
+
+    // Primary index: plotId -> Plot (kept in step with the owner map)
+    private final Map<UUID, Plot> byId = new ConcurrentHashMap<>();
+
+    // Per-world index containers. By name is authoritative (persisted form);
+    // by UID is bound lazily from live World objects so lookups skip string compares.
+    private final Map<String, WorldPlots> worldsByName = new ConcurrentHashMap<>();
+    private final Map<UUID, WorldPlots> worldsByUid = new ConcurrentHashMap<>();
+
+    // Per-player last-plot memo; generation bumps after any index change is published
+    private final PlotLookupCache lookups = new PlotLookupCache();
+    private final AtomicLong generation = new AtomicLong();
+
+    // World name -> FlagRegistry mask of protections that world enforces (set by WorldRulesManager)
+    private volatile ToIntFunction<String> worldProtections = w -> FlagRegistry.ALL;
 
     public PlotStore(AegisGuard plugin) {
         this.plugin = plugin;
-        this.file = new File(plugin.getDataFolder(), "plots.yml");
+        this.names = plugin.names();
+        for (int i = 0; i < OWNER_STRIPES; i++) ownerLocks[i] = new Object();
+        this.file = new File(plugin.getDataFolder(), "plots.dat");
+        this.legacyFile = new File(plugin.getDataFolder(), "plots.yml");
+        this.persister = new PlotPersister(plugin, file,
+                new File(plugin.getDataFolder(), "plots.journal"), this::snapshot);
         load();
         // Note: No PlayerBanEvent exists in Bukkit/Paper. Use removeBannedPlots() on startup
         // and optionally call it on a timer or on login from AegisGuard if you want live cleanup.
@@ -39,15 +89,27 @@ public class PlotStore {
     /* -----------------------------
      * Data Structures
      * ----------------------------- */
+    /** Streaming receiver for area queries; return false to stop the scan early. */
+    @FunctionalInterface
+    public interface PlotVisitor {
+        boolean visit(Plot plot);
+    }
+
     public static class Plot {
+        private static final long[] NO_TRUSTED = new long[0];
+
         private final UUID plotId;
         private final UUID owner;
-        private String ownerName;
+        // Mutable state is written under the plot's world lock (see PlotStore) and read lock-free (volatile)
+        private volatile String ownerName;
         private final String world;
         private final int x1, z1, x2, z2;
-        private final Set<UUID> trusted = new HashSet<>();
-        private final Map<UUID, String> trustedNames = new HashMap<>();
-        private final Map<String, Boolean> flags = new HashMap<>();
+        private volatile long[] trusted = NO_TRUSTED;            // sorted (msb, lsb) pairs; replaced on change, never mutated
+        private volatile int flagsSet = FlagRegistry.DEFAULTS;   // built-in flags that have a value
+        private volatile int flagValues = FlagRegistry.DEFAULTS; // their values (see FlagRegistry)
+        private volatile Map<String, Boolean> customFlags;       // anything else; copied on change, allocated on first use
+        private int worldMask = FlagRegistry.ALL;                // protections the plot's world enforces (writer only)
+        private volatile int effective = FlagRegistry.DEFAULTS;  // see recompute()
 
         public Plot(UUID plotId, UUID owner, String ownerName, String world, int x1, int z1, int x2, int z2) {
             this.plotId = plotId;
@@ -58,56 +120,300 @@ public class PlotStore {
             this.z1 = Math.min(z1, z2);
             this.x2 = Math.max(x1, x2);
             this.z2 = Math.max(z1, z2);
-
-            // Default protections ON (can be overridden later)
-            flags.put("pvp", true);
-            flags.put("containers", true);
-            flags.put("mobs", true);
-            flags.put("pets", true);
-            flags.put("entities", true);
-            flags.put("farm", true);
+            // Default protections ON (FlagRegistry.DEFAULTS); can be overridden later
         }
 
         public UUID getPlotId() { return plotId; }
         public UUID getOwner() { return owner; }
         public String getOwnerName() { return ownerName; }
-        public void setOwnerName(String name) { this.ownerName = name; }
+        private void setOwnerName(String name) { this.ownerName = name; } // via PlotStore.renameOwner (journaled)
         public String getWorld() { return world; }
         public int getX1() { return x1; }
         public int getZ1() { return z1; }
         public int getX2() { return x2; }
         public int getZ2() { return z2; }
 
-        public Set<UUID> getTrusted() { return trusted; }
-        public Map<UUID, String> getTrustedNames() { return trustedNames; }
+        /* Trusted (sorted long pairs, binary search) */
+
+        /** Allocation-free membership check. */
+        public boolean isTrusted(UUID id) {
+            return indexOf(trusted, id.getMostSignificantBits(), id.getLeastSignificantBits()) >= 0;
+        }
+
+        public int getTrustedCount() { return trusted.length >> 1; }
+
+        /** Copy of the trusted members. Change them through PlotStore.addTrusted / removeTrusted. */
+        public Set<UUID> getTrusted() {
+            long[] t = trusted;
+            Set<UUID> out = new LinkedHashSet<>(t.length);
+            for (int i = 0; i < t.length; i += 2) out.add(new UUID(t[i], t[i + 1]));
+            return Collections.unmodifiableSet(out);
+        }
+
+        boolean addTrusted(UUID id) {
+            long msb = id.getMostSignificantBits(), lsb = id.getLeastSignificantBits();
+            long[] cur = trusted;
+            int i = indexOf(cur, msb, lsb);
+            if (i >= 0) return false;
+            int at = (-(i + 1)) << 1;
+            long[] next = new long[cur.length + 2];
+            System.arraycopy(cur, 0, next, 0, at);
+            next[at] = msb;
+            next[at + 1] = lsb;
+            System.arraycopy(cur, at, next, at + 2, cur.length - at);
+            trusted = next;
+            return true;
+        }
+
+        boolean removeTrusted(UUID id) {
+            long[] cur = trusted;
+            int i = indexOf(cur, id.getMostSignificantBits(), id.getLeastSignificantBits());
+            if (i < 0) return false;
+            if (cur.length == 2) {
+                trusted = NO_TRUSTED;
+                return true;
+            }
+            int at = i << 1;
+            long[] next = new long[cur.length - 2];
+            System.arraycopy(cur, 0, next, 0, at);
+            System.arraycopy(cur, at + 2, next, at, cur.length - at - 2);
+            trusted = next;
+            return true;
+        }
+
+        /** Pair index of (msb, lsb), or -(insertion point + 1). */
+        private static int indexOf(long[] a, long msb, long lsb) {
+            int lo = 0, hi = (a.length >> 1) - 1;
+            while (lo <= hi) {
+                int mid = (lo + hi) >>> 1;
+                long m = a[mid << 1];
+                int c = (m != msb) ? Long.compare(m, msb) : Long.compare(a[(mid << 1) + 1], lsb);
+                if (c < 0) lo = mid + 1;
+                else if (c > 0) hi = mid - 1;
+                else return mid;
+            }
+            return -(lo + 1);
+        }
 
         public boolean isInside(Location loc) {
             if (loc == null || loc.getWorld() == null) return false;
-            if (!loc.getWorld().getName().equals(world)) return false;
-            int x = loc.getBlockX();
-            int z = loc.getBlockZ();
+            String name = loc.getWorld().getName();
+            if (name != world && !name.equals(world)) return false; // world names are interned by PlotStore
+            return contains(loc.getBlockX(), loc.getBlockZ());
+        }
+
+        /** Bounds-only check (caller has already matched the world). */
+        public boolean contains(int x, int z) {
             return x >= x1 && x <= x2 && z >= z1 && z <= z2;
         }
 
         // Flags
-        public boolean getFlag(String key, boolean def) { return flags.getOrDefault(key, def); }
-        public void setFlag(String key, boolean value) { flags.put(key, value); }
-        public Map<String, Boolean> getFlags() { return flags; }
+        public boolean getFlag(String key, boolean def) {
+            int m = FlagRegistry.mask(key);
+            if (m == 0) {
+                Map<String, Boolean> custom = customFlags;
+                return custom == null ? def : custom.getOrDefault(key, def);
+            }
+            return (flagsSet & m) == 0 ? def : (flagValues & m) != 0;
+        }
+
+        /** Store-internal; callers use PlotStore.setFlag (world lock, cached masks, journal). */
+        private void setFlag(String key, boolean value) {
+            int m = FlagRegistry.mask(key);
+            if (m == 0) {
+                Map<String, Boolean> next = customFlags == null ? new HashMap<>(4) : new HashMap<>(customFlags);
+                next.put(key, value);
+                customFlags = next;
+                return;
+            }
+            flagsSet |= m;
+            flagValues = value ? (flagValues | m) : (flagValues & ~m);
+            recompute();
+        }
+
+        /**
+         * True if the given protection (FlagRegistry mask) applies here: the plot has it on
+         * (or safe_zone is on) and the world rules allow it. Precomputed; one AND per check.
+         */
+        public boolean isProtected(int flag) { return (effective & flag) != 0; }
+
+        void setWorldMask(int mask) {
+            this.worldMask = mask;
+            recompute();
+        }
+
+        private void recompute() {
+            int own = (flagValues & FlagRegistry.SAFE_ZONE) != 0 ? FlagRegistry.ALL : flagValues;
+            effective = own & worldMask;
+        }
+
+        /** True if any of the given built-in flags (FlagRegistry masks) is on. Unset flags read as off. */
+        public boolean hasAnyFlag(int mask) { return (flagValues & mask) != 0; }
+
+        /** Built-in flag values as a FlagRegistry mask. */
+        public int getFlagMask() { return flagValues; }
+
+        /** Copy of every flag that has a value, by name. */
+        public Map<String, Boolean> getFlags() {
+            Map<String, Boolean> out = new LinkedHashMap<>();
+            for (int bit = 0; bit < FlagRegistry.count(); bit++) {
+                if ((flagsSet & (1 << bit)) != 0) out.put(FlagRegistry.name(bit), (flagValues & (1 << bit)) != 0);
+            }
+            Map<String, Boolean> custom = customFlags;
+            if (custom != null) out.putAll(custom);
+            return out;
+        }
+
+        int flagsSet() { return flagsSet; }
+
+        Map<String, Boolean> customFlags() {
+            Map<String, Boolean> custom = customFlags;
+            return custom == null ? Collections.emptyMap() : custom;
+        }
+
+        /** Restores persisted flag state (snapshot load). */
+        void restoreFlags(int set, int values, Map<String, Boolean> custom) {
+            this.flagsSet = set & FlagRegistry.ALL;
+            this.flagValues = values & set & FlagRegistry.ALL;
+            this.customFlags = custom.isEmpty() ? null : new HashMap<>(custom);
+            recompute();
+        }
     }
 
     /* -----------------------------
      * Load / Save
      * ----------------------------- */
     public void load() {
+        structure.writeLock().lock();
         try {
-            if (!file.exists()) {
-                File parent = file.getParentFile();
-                if (parent != null) parent.mkdirs();
-                file.createNewFile();
+            bulk = true;
+            try {
+                loadAll();
+            } finally {
+                bulk = false;
+                publishAll();
             }
-        } catch (IOException ignored) {}
-        this.data = YamlConfiguration.loadConfiguration(file);
+        } finally {
+            structure.writeLock().unlock();
+        }
+
+        // Sweep banned players on load if enabled
+        if (plugin.getConfig().getBoolean("admin.auto_remove_banned", false)) {
+            removeBannedPlots();
+        }
+    }
+
+    private void loadAll() {
+        persister.drain(); // let queued journal appends / snapshots land before reading
+        lookups.clear();
         plots.clear();
+        byId.clear();
+        worldsByName.values().forEach(WorldPlots::clear);
+
+        boolean converted = false;
+        if (file.exists()) {
+            try {
+                int count = PlotSnapshotCodec.read(file.toPath(), this::addEntry);
+                plugin.getLogger().info("[AegisGuard] Loaded " + count + " plots from " + file.getName() + ".");
+            } catch (IOException ex) {
+                // Keep the unreadable file aside instead of overwriting it on the next compaction
+                File aside = new File(file.getParentFile(), file.getName() + ".corrupt-" + System.currentTimeMillis());
+                plugin.getLogger().severe("[AegisGuard] Could not read " + file.getName() + " (" + ex.getMessage()
+                        + "); moved to " + aside.getName());
+                if (!file.renameTo(aside)) plugin.getLogger().severe("[AegisGuard] Could not move " + file.getName());
+                plots.clear();
+                byId.clear();
+                worldsByName.values().forEach(WorldPlots::clear);
+            }
+        } else if (legacyFile.exists()) {
+            // One-shot conversion from the YAML layout
+            loadYaml(legacyFile);
+            converted = true;
+        }
+
+        // Re-apply mutations recorded since the snapshot, then fold them into a fresh one
+        int replayed = persister.replay(new Replay());
+        if (replayed > 0) {
+            plugin.getLogger().info("[AegisGuard] Replayed " + replayed + " plot journal records.");
+            save();
+        }
+
+        if (converted) {
+            // Retire plots.yml only once plots.dat is safely on disk
+            persister.compactNow(() -> {
+                File done = new File(legacyFile.getParentFile(), legacyFile.getName() + ".converted");
+                if (legacyFile.renameTo(done)) {
+                    plugin.getLogger().info("[AegisGuard] Converted plots.yml to " + file.getName()
+                            + " (original kept as " + done.getName() + ").");
+                }
+            });
+        }
+    }
+
+    /** Rebuilds a plot from a snapshot entry. */
+    private void addEntry(PlotPersister.Entry e) {
+        Plot plot = new Plot(e.plotId(), e.owner(), e.ownerName(), internWorld(e.world()),
+                e.x1(), e.z1(), e.x2(), e.z2());
+        names.seed(e.owner(), e.ownerName());
+        for (Map.Entry<UUID, String> t : e.trusted().entrySet()) {
+            plot.addTrusted(t.getKey());
+            names.seed(t.getKey(), t.getValue());
+        }
+        plot.restoreFlags(e.flagsSet(), e.flagValues(), e.customFlags());
+        addPlot(plot);
+    }
+
+    /** Applies journal records to the state just loaded from the snapshot. */
+    private final class Replay implements PlotJournal.Replayer {
+
+        @Override
+        public void created(UUID plotId, UUID owner, String ownerName, String world, int x1, int z1, int x2, int z2) {
+            if (byId.containsKey(plotId)) return; // already in snapshot
+            Plot plot = new Plot(plotId, owner, ownerName, internWorld(world), x1, z1, x2, z2);
+            names.seed(owner, ownerName);
+            addPlot(plot);
+        }
+
+        @Override
+        public void removed(UUID plotId) {
+            Plot plot = byId.get(plotId);
+            if (plot != null) dropPlot(plot);
+        }
+
+        @Override
+        public void trustAdded(UUID plotId, UUID trusted, String name) {
+            Plot plot = byId.get(plotId);
+            if (plot == null) return;
+            plot.addTrusted(trusted);
+            names.seed(trusted, name);
+        }
+
+        @Override
+        public void trustRemoved(UUID plotId, UUID trusted) {
+            Plot plot = byId.get(plotId);
+            if (plot == null) return;
+            plot.removeTrusted(trusted);
+        }
+
+        @Override
+        public void flagSet(UUID plotId, String flag, boolean value) {
+            Plot plot = byId.get(plotId);
+            if (plot != null) plot.setFlag(flag, value);
+        }
+
+        @Override
+        public void ownerNamed(UUID owner, String name) {
+            for (Plot plot : getPlots(owner)) plot.setOwnerName(name);
+            names.put(owner, name); // journal is newer than the snapshot: override its seeded name
+        }
+    }
+
+    /* -----------------------------
+     * YAML (legacy import / admin hand-edit)
+     * ----------------------------- */
+    /** Parses the plots.yml layout (including the legacy single-plot layout) into the store. */
+    private void loadYaml(File source) {
+        FileConfiguration data = YamlConfiguration.loadConfiguration(source);
 
         if (data.isConfigurationSection("plots")) {
             for (String ownerId : data.getConfigurationSection("plots").getKeys(false)) {
@@ -122,7 +428,7 @@ public class PlotStore {
 
                 // Legacy single-plot format (plots.<owner>.*)
                 if (data.isSet(ownerPath + ".x1")) {
-                    migrateLegacy(owner);
+                    migrateLegacy(data, owner);
                     continue;
                 }
 
@@ -145,7 +451,8 @@ public class PlotStore {
 
                     if (world == null) continue; // skip corrupt entries
 
-                    Plot plot = new Plot(plotId, owner, ownerName, world, x1, z1, x2, z2);
+                    Plot plot = new Plot(plotId, owner, ownerName, internWorld(world), x1, z1, x2, z2);
+                    names.seed(owner, ownerName);
 
                     // Trusted
                     if (data.isConfigurationSection(path + ".trusted")) {
@@ -153,8 +460,8 @@ public class PlotStore {
                             try {
                                 UUID t = UUID.fromString(uuidStr);
                                 String tName = data.getString(path + ".trusted." + uuidStr, "Unknown");
-                                plot.getTrusted().add(t);
-                                plot.getTrustedNames().put(t, tName);
+                                plot.addTrusted(t);
+                                names.seed(t, tName);
                             } catch (IllegalArgumentException ignored) {}
                         }
                     }
@@ -167,18 +474,13 @@ public class PlotStore {
                         }
                     }
 
-                    plots.computeIfAbsent(owner, k -> new ArrayList<>()).add(plot);
+                    addPlot(plot);
                 }
             }
         }
-
-        // Sweep banned players on load if enabled
-        if (plugin.getConfig().getBoolean("admin.auto_remove_banned", false)) {
-            removeBannedPlots();
-        }
     }
 
-    private void migrateLegacy(UUID owner) {
+    private void migrateLegacy(FileConfiguration data, UUID owner) {
         String base = "plots." + owner;
         String ownerName = data.getString(base + ".owner-name", "Unknown");
         String world = data.getString(base + ".world");
@@ -190,7 +492,8 @@ public class PlotStore {
         if (world == null) return;
 
         UUID plotId = UUID.randomUUID();
-        Plot plot = new Plot(plotId, owner, ownerName, world, x1, z1, x2, z2);
+        Plot plot = new Plot(plotId, owner, ownerName, internWorld(world), x1, z1, x2, z2);
+        names.seed(owner, ownerName);
 
         // migrate legacy trusted (if present)
         if (data.isConfigurationSection(base + ".trusted")) {
@@ -198,8 +501,8 @@ public class PlotStore {
                 try {
                     UUID t = UUID.fromString(uuidStr);
                     String tName = data.getString(base + ".trusted." + uuidStr, "Unknown");
-                    plot.getTrusted().add(t);
-                    plot.getTrustedNames().put(t, tName);
+                    plot.addTrusted(t);
+                    names.seed(t, tName);
                 } catch (IllegalArgumentException ignored) {}
             }
         }
@@ -211,122 +514,318 @@ public class PlotStore {
             }
         }
 
-        plots.computeIfAbsent(owner, k -> new ArrayList<>()).add(plot);
-        data.set(base, null); // clear old
-        save(); // re-save in new format
+        addPlot(plot); // re-saved in the current format by the conversion snapshot
     }
 
+    /**
+     * Requests a full snapshot (compaction). Individual mutations are already journaled,
+     * so this is only needed after bulk changes such as a legacy migration.
+     */
     public void save() {
-        data.set("plots", null); // clear
+        persister.markDirty();
+    }
+
+    /** Blocking save — only for shutdown. */
+    public void flushSync() { persister.flushSync(); }
+
+    /** Flushes pending writes and stops the IO thread. */
+    public void close() {
+        persister.flushSync();
+        persister.shutdown();
+    }
+
+    /** Writes all plots to a YAML file (plots.yml layout) for admins to inspect or hand-edit. */
+    public void exportYaml(File target, Runnable onDone) {
+        persister.exportYaml(target, onDone);
+    }
+
+    /** Replaces all plots with the contents of a YAML file (plots.yml layout) and snapshots them. */
+    public boolean importYaml(File source) {
+        if (!source.exists()) return false;
+        structure.writeLock().lock();
+        try {
+            bulk = true;
+            try {
+                persister.drain();
+                lookups.clear();
+                plots.clear();
+                byId.clear();
+                worldsByName.values().forEach(WorldPlots::clear);
+                loadYaml(source);
+            } finally {
+                bulk = false;
+                publishAll();
+            }
+            persister.compactNow(null); // new snapshot + empty journal; old records no longer apply
+        } finally {
+            structure.writeLock().unlock();
+        }
+        return true;
+    }
+
+    /**
+     * Copies current plot state for the persister and queues its IO while all writers are still
+     * excluded, so no journal record can slip in between the copy and the write (see Snapshotter).
+     */
+    private Future<?> snapshot(Function<List<PlotPersister.Entry>, Future<?>> queue) {
+        structure.writeLock().lock();
+        try {
+            return queue.apply(snapshotLocked());
+        } finally {
+            structure.writeLock().unlock();
+        }
+    }
+
+    private List<PlotPersister.Entry> snapshotLocked() {
+        List<PlotPersister.Entry> out = new ArrayList<>();
         for (Map.Entry<UUID, List<Plot>> entry : plots.entrySet()) {
             UUID owner = entry.getKey();
             List<Plot> list = entry.getValue();
             if (list == null || list.isEmpty()) continue;
 
+            String ownerName = names.get(owner); // cached only; never a profile lookup here
             for (Plot plot : list) {
-                String path = "plots." + owner + "." + plot.getPlotId();
-
-                OfflinePlayer op = Bukkit.getOfflinePlayer(owner);
-                plot.setOwnerName(op.getName() != null ? op.getName() : "Unknown");
-
-                data.set(path + ".owner-name", plot.getOwnerName());
-                data.set(path + ".world", plot.getWorld());
-                data.set(path + ".x1", plot.getX1());
-                data.set(path + ".z1", plot.getZ1());
-                data.set(path + ".x2", plot.getX2());
-                data.set(path + ".z2", plot.getZ2());
-
-                // Refresh trusted names to latest known
-                for (UUID t : new HashSet<>(plot.getTrusted())) {
-                    OfflinePlayer tp = Bukkit.getOfflinePlayer(t);
-                    plot.getTrustedNames().put(t, tp.getName() != null ? tp.getName() : "Unknown");
-                }
-                for (Map.Entry<UUID, String> tn : plot.getTrustedNames().entrySet()) {
-                    data.set(path + ".trusted." + tn.getKey(), tn.getValue());
-                }
+                if (ownerName != null) plot.setOwnerName(ownerName);
 
-                for (Map.Entry<String, Boolean> flag : plot.getFlags().entrySet()) {
-                    data.set(path + ".flags." + flag.getKey(), flag.getValue());
-                }
+                // Trusted names to latest known
+                Map<UUID, String> trusted = new LinkedHashMap<>();
+                for (UUID t : plot.getTrusted()) trusted.put(t, names.name(t));
+
+                out.add(new PlotPersister.Entry(
+                        owner, plot.getPlotId(), plot.getOwnerName(), plot.getWorld(),
+                        plot.getX1(), plot.getZ1(), plot.getX2(), plot.getZ2(),
+                        trusted,
+                        plot.flagsSet(), plot.getFlagMask(), new LinkedHashMap<>(plot.customFlags())));
             }
         }
-        try {
-            data.save(file);
-        } catch (IOException e) {
-            e.printStackTrace();
-        }
+        return out;
     }
 
-    public void flushSync() { save(); }
-
     /* -----------------------------
      * Plot Management
      * ----------------------------- */
     public List<Plot> getPlots(UUID owner) {
         List<Plot> list = plots.get(owner);
-        return (list == null) ? Collections.emptyList() : Collections.unmodifiableList(list);
+        return (list == null) ? Collections.emptyList() : list; // already immutable
     }
 
+    /** O(1) lookup by plot id. */
+    public Plot getPlot(UUID plotId) {
+        return plotId == null ? null : byId.get(plotId);
+    }
+
+    /** O(1) lookup by plot id, only if the plot belongs to {@code owner}. */
     public Plot getPlot(UUID owner, UUID plotId) {
-        return plots.getOrDefault(owner, Collections.emptyList())
-                .stream().filter(p -> p.getPlotId().equals(plotId)).findFirst().orElse(null);
+        Plot p = getPlot(plotId);
+        return (p != null && p.getOwner().equals(owner)) ? p : null;
     }
 
-    public void createPlot(UUID owner, Location c1, Location c2) {
-        if (c1 == null || c2 == null || c1.getWorld() == null || c2.getWorld() == null) return;
-        if (!c1.getWorld().equals(c2.getWorld())) return; // must be same world
+    /**
+     * Creates a plot from two corners. Returns null if rejected (bad corners, claim limit,
+     * or overlap with an existing plot — check findIntersecting first to report why).
+     */
+    public Plot createPlot(UUID owner, Location c1, Location c2) {
+        if (c1 == null || c2 == null || c1.getWorld() == null || c2.getWorld() == null) return null;
+        if (!c1.getWorld().equals(c2.getWorld())) return null; // must be same world
 
-        boolean bypass = plugin.getConfig().getBoolean("admin.bypass_claim_limit", false);
-        boolean isOp = Bukkit.getOfflinePlayer(owner).isOp();
-        List<Plot> owned = plots.computeIfAbsent(owner, k -> new ArrayList<>());
+        // Player / config state is read before locking; the lock covers only the index change
+        boolean bypass = plugin.cfg().adminBypassClaimLimit();
+        int max = plugin.cfg().claims(c1.getWorld().getName()).maxClaims(); // same per-world limit SelectionService checks
+        Player online = Bukkit.getPlayer(owner);
+        boolean isOp = online != null ? online.isOp() : Bukkit.getOperators().stream().anyMatch(o -> o.getUniqueId().equals(owner));
+        if (online != null) names.put(owner, online.getName());
 
-        // Enforce claim limit unless admin bypass applies (bypass must be enabled AND player must be op)
-        if (!(bypass && isOp)) {
-            int max = plugin.getConfig().getInt("claims.max_claims_per_player", 1);
-            if (max > 0 && owned.size() >= max) return;
-        }
+        String world = internWorld(c1.getWorld().getName());
+        return withLocks(owner, world, () -> {
+            if (!findIntersecting(world,
+                    c1.getBlockX(), c1.getBlockZ(), c2.getBlockX(), c2.getBlockZ()).isEmpty()) return null;
+
+            // Enforce claim limit unless admin bypass applies (bypass must be enabled AND player must be op)
+            if (!(bypass && isOp) && max > 0 && getPlots(owner).size() >= max) return null;
 
-        OfflinePlayer op = Bukkit.getOfflinePlayer(owner);
-        Plot plot = new Plot(
-                UUID.randomUUID(),
-                owner,
-                op.getName() != null ? op.getName() : "Unknown",
-                c1.getWorld().getName(),
-                c1.getBlockX(),
-                c1.getBlockZ(),
-                c2.getBlockX(),
-                c2.getBlockZ()
-        );
-        owned.add(plot);
-        save();
+            Plot plot = new Plot(
+                    UUID.randomUUID(),
+                    owner,
+                    names.name(owner),
+                    world,
+                    c1.getBlockX(),
+                    c1.getBlockZ(),
+                    c2.getBlockX(),
+                    c2.getBlockZ()
+            );
+            addPlot(plot);
+            persister.record(PlotJournal.created(plot));
+            return plot;
+        });
     }
 
     public void removePlot(UUID owner, UUID plotId) {
-        List<Plot> owned = plots.get(owner);
-        if (owned == null) return;
-        owned.removeIf(p -> p.getPlotId().equals(plotId));
-        if (owned.isEmpty()) plots.remove(owner);
-        save();
+        Plot p = getPlot(owner, plotId);
+        if (p == null) return;
+        runLocked(owner, p.getWorld(), () -> {
+            if (byId.get(plotId) != p) return; // removed concurrently
+            dropPlot(p);
+            persister.record(PlotJournal.removed(plotId));
+        });
     }
 
     public void removeAllPlots(UUID owner) {
-        if (plots.remove(owner) != null) {
-            save();
+        removeAll(Collections.singleton(owner));
+    }
+
+    /**
+     * Drops every plot of the given owners, publishing each touched world once at the end rather
+     * than once per plot. Readers keep the previous snapshot until then.
+     */
+    private void removeAll(Collection<UUID> owners) {
+        Set<WorldPlots> touched = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (UUID owner : owners) {
+            runLocked(owner, null, () -> { // each world is locked in turn by unindex
+                for (Plot p : getPlots(owner)) {
+                    WorldPlots wp = dropPlot(p, false);
+                    if (wp != null) touched.add(wp);
+                    persister.record(PlotJournal.removed(p.getPlotId()));
+                }
+            });
         }
+        for (WorldPlots wp : touched) runLocked(null, wp.name(), () -> publish(wp));
+    }
+
+    /** Sets a flag on a plot and journals the change. */
+    public void setFlag(Plot plot, String key, boolean value) {
+        runLocked(null, plot.getWorld(), () -> {
+            plot.setFlag(key, value);
+            persister.record(PlotJournal.flagSet(plot.getPlotId(), key, value));
+        });
+    }
+
+    /** Updates the display name stored on every plot of an owner (e.g. after a rename). */
+    public void renameOwner(UUID owner, String name) {
+        if (name == null) return;
+        runLocked(owner, null, () -> {
+            List<Plot> owned = getPlots(owner);
+            if (owned.isEmpty() || name.equals(owned.get(0).getOwnerName())) return;
+            for (Plot p : owned) p.setOwnerName(name);
+            persister.record(PlotJournal.ownerNamed(owner, name));
+        });
     }
 
     public boolean hasPlots(UUID owner) { return !getPlots(owner).isEmpty(); }
 
     public Plot getPlotAt(Location loc) {
-        if (loc == null) return null;
-        for (List<Plot> list : plots.values()) {
-            for (Plot p : list) {
-                if (p.isInside(loc)) return p;
-            }
+        if (loc == null || loc.getWorld() == null) return null;
+        WorldPlots wp = world(loc.getWorld());
+
+        int x = loc.getBlockX();
+        int z = loc.getBlockZ();
+        WorldPlots.Index idx = wp.index();
+        if (!idx.claimed().contains(x >> 4, z >> 4)) return null; // wilderness: one bit test
+        return find(idx.chunks().get(chunkKey(x >> 4, z >> 4)), x, z);
+    }
+
+    /**
+     * Same as getPlotAt(loc), memoized per player: repeated lookups by the same player inside
+     * the same plot (or plot-free chunk) skip the index. Use for player-driven events.
+     */
+    public Plot getPlotAt(Player player, Location loc) {
+        if (player == null) return getPlotAt(loc);
+        if (loc == null || loc.getWorld() == null) return null;
+        WorldPlots wp = world(loc.getWorld());
+
+        int x = loc.getBlockX();
+        int z = loc.getBlockZ();
+        long gen = generation.get(); // read before the index: a memo may be stale-tagged, never stale-answered
+        PlotLookupCache.Memo memo = lookups.memo(player.getUniqueId());
+        if (memo != null && memo.answers(wp, gen, x, z)) {
+            lookups.hit();
+            return memo.plot();
+        }
+        lookups.miss();
+
+        WorldPlots.Index idx = wp.index();
+        long key = chunkKey(x >> 4, z >> 4);
+        Plot[] candidates = idx.claimed().contains(x >> 4, z >> 4) ? idx.chunks().get(key) : null;
+        Plot found = find(candidates, x, z);
+        lookups.remember(player.getUniqueId(), new PlotLookupCache.Memo(wp, gen, key, found, candidates == null));
+        return found;
+    }
+
+    private static Plot find(Plot[] candidates, int x, int z) {
+        if (candidates == null) return null;
+        for (Plot p : candidates) {
+            if (p.contains(x, z)) return p;
         }
         return null;
     }
 
+    /* -----------------------------
+     * Area Queries (R-tree)
+     * ----------------------------- */
+    /** All plots in a world whose rectangle overlaps [x1..x2] x [z1..z2] (inclusive, any corner order). */
+    public List<Plot> findIntersecting(String world, int x1, int z1, int x2, int z2) {
+        List<Plot> out = new ArrayList<>(2);
+        visitBox(world, x1, z1, x2, z2, p -> {
+            out.add(p);
+            return true;
+        });
+        return out;
+    }
+
+    /** Plots overlapping a box; only the matches are collected. */
+    public List<Plot> queryBox(World world, int x1, int z1, int x2, int z2) {
+        return world == null ? Collections.emptyList() : findIntersecting(world.getName(), x1, z1, x2, z2);
+    }
+
+    /** Plots with any block within {@code radius} blocks (horizontal distance) of the location. */
+    public List<Plot> queryRadius(Location center, int radius) {
+        List<Plot> out = new ArrayList<>();
+        visitRadius(center, radius, p -> {
+            out.add(p);
+            return true;
+        });
+        return out;
+    }
+
+    /**
+     * Streams plots overlapping a box to the visitor without building a list.
+     * Returns false if the visitor stopped the scan.
+     */
+    public boolean visitBox(String world, int x1, int z1, int x2, int z2, PlotVisitor visitor) {
+        WorldPlots wp = (world == null) ? null : worldsByName.get(world);
+        if (wp == null) return true;
+        return wp.index().tree().query(Math.min(x1, x2), Math.min(z1, z2), Math.max(x1, x2), Math.max(z1, z2), visitor);
+    }
+
+    /** Streaming form of queryRadius. Returns false if the visitor stopped the scan. */
+    public boolean visitRadius(Location center, int radius, PlotVisitor visitor) {
+        if (center == null || center.getWorld() == null || radius < 0) return true;
+        int cx = center.getBlockX();
+        int cz = center.getBlockZ();
+        long r2 = (long) radius * radius;
+        return visitBox(center.getWorld().getName(), cx - radius, cz - radius, cx + radius, cz + radius, p -> {
+            // Distance from the centre to the nearest block of the plot
+            long dx = Math.max(0, Math.max(p.getX1() - cx, cx - p.getX2()));
+            long dz = Math.max(0, Math.max(p.getZ1() - cz, cz - p.getZ2()));
+            return dx * dx + dz * dz > r2 || visitor.visit(p);
+        });
+    }
+
+    /** Plots other than {@code self} that the given rectangle would overlap (e.g. a resized plot). */
+    public List<Plot> findConflicts(Plot self, int x1, int z1, int x2, int z2) {
+        List<Plot> hits = findIntersecting(self.getWorld(), x1, z1, x2, z2);
+        if (!hits.isEmpty()) hits.removeIf(p -> p == self);
+        return hits;
+    }
+
+    /** Drops a player's lookup memo (on quit). */
+    public void forgetPlayer(UUID player) { lookups.forget(player); }
+
+    public long lookupHits()   { return lookups.hits(); }
+    public long lookupMisses() { return lookups.misses(); }
+    public long generation()   { return generation.get(); }
+
+    public int plotCount() { return byId.size(); }
+
     public Set<UUID> owners() { return Collections.unmodifiableSet(plots.keySet()); }
 
     /* -----------------------------
@@ -335,25 +834,37 @@ public class PlotStore {
     public void addTrusted(UUID owner, UUID plotId, UUID trusted) {
         Plot p = getPlot(owner, plotId);
         if (p != null) {
-            OfflinePlayer tp = Bukkit.getOfflinePlayer(trusted);
-            p.getTrusted().add(trusted);
-            p.getTrustedNames().put(trusted, tp.getName() != null ? tp.getName() : "Unknown");
-            save();
+            addTrusted(p, trusted, names.get(trusted));
         }
     }
 
+    /** Trusts a player on a plot; returns false if they already were. */
+    public boolean addTrusted(Plot plot, UUID trusted, String name) {
+        names.put(trusted, name);
+        return withLocks(null, plot.getWorld(), () -> {
+            if (!plot.addTrusted(trusted)) return false;
+            persister.record(PlotJournal.trustAdded(plot.getPlotId(), trusted, names.name(trusted)));
+            return true;
+        });
+    }
+
     public void removeTrusted(UUID owner, UUID plotId, UUID trusted) {
         Plot p = getPlot(owner, plotId);
-        if (p != null) {
-            p.getTrusted().remove(trusted);
-            p.getTrustedNames().remove(trusted);
-            save();
-        }
+        if (p != null) removeTrusted(p, trusted);
+    }
+
+    /** Untrusts a player on a plot; returns false if they were not trusted. */
+    public boolean removeTrusted(Plot plot, UUID trusted) {
+        return withLocks(null, plot.getWorld(), () -> {
+            if (!plot.removeTrusted(trusted)) return false;
+            persister.record(PlotJournal.trustRemoved(plot.getPlotId(), trusted));
+            return true;
+        });
     }
 
     public boolean isTrusted(UUID owner, UUID plotId, UUID trusted) {
         Plot p = getPlot(owner, plotId);
-        return p != null && p.getTrusted().contains(trusted);
+        return p != null && p.isTrusted(trusted);
     }
 
     /* -----------------------------
@@ -388,7 +899,156 @@ public class PlotStore {
             }
         }
 
-        for (UUID id : toRemove) plots.remove(id);
-        if (!toRemove.isEmpty()) save();
+        removeAll(toRemove);
+    }
+
+    /* -----------------------------
+     * Write Locks
+     * ----------------------------- */
+    /** Runs a mutation holding the shared structure lock, then the owner's stripe and the world's lock (each if non-null). */
+    private <T> T withLocks(UUID owner, String world, Supplier<T> body) {
+        structure.readLock().lock();
+        try {
+            if (owner == null) return inWorld(world, body);
+            synchronized (ownerLock(owner)) {
+                return inWorld(world, body);
+            }
+        } finally {
+            structure.readLock().unlock();
+        }
+    }
+
+    private void runLocked(UUID owner, String world, Runnable body) {
+        withLocks(owner, world, () -> {
+            body.run();
+            return null;
+        });
+    }
+
+    private <T> T inWorld(String world, Supplier<T> body) {
+        if (world == null) return body.get();
+        synchronized (worldsByName.computeIfAbsent(world, this::newWorld)) {
+            return body.get();
+        }
+    }
+
+    private Object ownerLock(UUID owner) {
+        int h = owner.hashCode();
+        return ownerLocks[(h ^ (h >>> 16)) & (OWNER_STRIPES - 1)];
+    }
+
+    /* -----------------------------
+     * World Containers
+     * ----------------------------- */
+    /**
+     * Sets the per-world protection masks (from WorldRulesManager) and recomputes every plot's
+     * effective protections. Called on startup and whenever the world rules reload.
+     */
+    public void setWorldProtections(ToIntFunction<String> rules) {
+        this.worldProtections = rules;
+        runLocked(null, null, () -> {
+            for (WorldPlots wp : worldsByName.values()) {
+                synchronized (wp) {
+                    wp.setProtections(rules.applyAsInt(wp.name()));
+                }
+            }
+            for (Plot p : byId.values()) {
+                WorldPlots wp = worldsByName.get(p.getWorld());
+                synchronized (wp) {
+                    p.setWorldMask(wp.protections());
+                }
+            }
+        });
+    }
+
+    private WorldPlots newWorld(String name) {
+        WorldPlots wp = new WorldPlots(name);
+        wp.setProtections(worldProtections.applyAsInt(name));
+        return wp;
+    }
+
+    /** Resolves the container for a live world, binding it by UID on first sight. */
+    private WorldPlots world(World world) {
+        UUID uid = world.getUID();
+        WorldPlots wp = worldsByUid.get(uid);
+        if (wp == null) {
+            wp = worldsByName.computeIfAbsent(world.getName(), this::newWorld);
+            worldsByUid.put(uid, wp);
+        }
+        return wp;
+    }
+
+    /** Returns the canonical String instance for a world name, so all plots share it. */
+    private String internWorld(String name) {
+        return worldsByName.computeIfAbsent(name, this::newWorld).name();
+    }
+
+    /* -----------------------------
+     * Chunk Index
+     * ----------------------------- */
+    /** Packs chunk coordinates into a single long key (x in the high half, z in the low half). */
+    public static long chunkKey(int chunkX, int chunkZ) {
+        return ((long) chunkX << 32) | (chunkZ & 0xFFFFFFFFL);
+    }
+
+    /** Registers a plot under its owner, by id, and in every chunk bucket it overlaps. Owner stripe held. */
+    private void addPlot(Plot plot) {
+        List<Plot> cur = getPlots(plot.getOwner());
+        List<Plot> next = new ArrayList<>(cur.size() + 1);
+        next.addAll(cur);
+        next.add(plot);
+        plots.put(plot.getOwner(), Collections.unmodifiableList(next));
+        byId.put(plot.getPlotId(), plot);
+        index(plot);
+    }
+
+    /** Reverse of addPlot (no journal record). Owner stripe held. */
+    private void dropPlot(Plot plot) {
+        dropPlot(plot, true);
+    }
+
+    /** As dropPlot(plot); with publishNow false the caller must publish the returned world later. */
+    private WorldPlots dropPlot(Plot plot, boolean publishNow) {
+        byId.remove(plot.getPlotId());
+        List<Plot> cur = getPlots(plot.getOwner());
+        if (cur.contains(plot)) {
+            List<Plot> next = new ArrayList<>(cur);
+            next.remove(plot);
+            if (next.isEmpty()) plots.remove(plot.getOwner());
+            else plots.put(plot.getOwner(), Collections.unmodifiableList(next));
+        }
+        return unindex(plot, publishNow);
+    }
+
+    /** Makes a world's index changes visible to readers, then invalidates lookup memos. */
+    private void publish(WorldPlots wp) {
+        if (bulk) return;
+        wp.publish();
+        generation.incrementAndGet();
+    }
+
+    private void publishAll() {
+        worldsByName.values().forEach(WorldPlots::publish);
+        generation.incrementAndGet();
+    }
+
+    private void index(Plot plot) {
+        WorldPlots wp = worldsByName.computeIfAbsent(plot.getWorld(), this::newWorld);
+        synchronized (wp) { // world lock (reentrant if the caller already holds it)
+            plot.setWorldMask(wp.protections());
+            wp.add(plot);
+            publish(wp);
+        }
+    }
+
+    /** Removes a plot from its world's index; returns that world (null if it has none). */
+    private WorldPlots unindex(Plot plot, boolean publishNow) {
+        WorldPlots wp = worldsByName.get(plot.getWorld());
+        if (wp == null) return null;
+        synchronized (wp) {
+            wp.remove(plot);
+            if (publishNow) publish(wp);
+        }
+        return wp;
     }
 }
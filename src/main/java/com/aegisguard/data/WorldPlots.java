@@ -0,0 +1,125 @@
+package com.aegisguard.data;
+
+import com.aegisguard.data.PlotStore.Plot;
+
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.Set;
+
+/**
+ * WorldPlots
+ * - Per-world container for the plot index
+ * - Holds the canonical (interned) world name shared by every Plot in this world
+ * - Chunk key -> plots table used by PlotStore.getPlotAt
+ * - Claimed-chunk bitmap checked first, so wilderness lookups stop at one bit test
+ * - R-tree over the world's plot rectangles for overlap / area queries: patched per insert / remove
+ *   (persistent, path-copied), bulk-built with STR only after clear() (load / import)
+ * - Protections the world enforces (FlagRegistry mask from WorldRulesManager)
+ *
+ * Copy-on-write: the writer (holding this world's lock, see PlotStore) edits private working
+ * copies and then publishes an immutable Index through a volatile field. Readers on any thread
+ * take index() once per lookup and never lock or see a half-applied change. Publishing shares
+ * every unchanged page / region container with the previous snapshot (see LongPlotMap.copy,
+ * ChunkBitmap.copy), so its cost follows what changed, not the size of the world.
+ */
+final class WorldPlots {
+
+    /** Frozen read view of one world; replaced on every publish, never modified. */
+    static final class Index {
+        static final Index EMPTY = new Index(new LongPlotMap(4), new ChunkBitmap(), PlotRTree.EMPTY);
+
+        private final LongPlotMap chunks;
+        private final ChunkBitmap claimed;
+        private final PlotRTree tree;
+
+        private Index(LongPlotMap chunks, ChunkBitmap claimed, PlotRTree tree) {
+            this.chunks = chunks;
+            this.claimed = claimed;
+            this.tree = tree;
+        }
+
+        LongPlotMap chunks() { return chunks; }
+
+        ChunkBitmap claimed() { return claimed; }
+
+        /** Spatial index over this snapshot's plots. */
+        PlotRTree tree() { return tree; }
+    }
+
+    private final String name;
+    private volatile int protections = FlagRegistry.ALL;
+    private volatile Index index = Index.EMPTY;
+
+    // Writer-side working copies (guarded by synchronizing on this WorldPlots)
+    private final LongPlotMap chunks = new LongPlotMap();
+    private final ChunkBitmap claimed = new ChunkBitmap();
+    private final Set<Plot> members = Collections.newSetFromMap(new IdentityHashMap<>());
+    private PlotRTree tree = PlotRTree.EMPTY; // immutable; replaced per insert / remove
+    private boolean treeStale = true;         // set by clear(): rebuild from members (STR) on publish
+    private boolean dirty;
+
+    WorldPlots(String name) {
+        this.name = name;
+    }
+
+    String name() { return name; }
+
+    /** Current published snapshot (lock-free). */
+    Index index() { return index; }
+
+    /* Writer side */
+
+    /** Indexes a plot under every chunk it touches; visible after publish(). */
+    void add(Plot plot) {
+        if (!members.add(plot)) return;
+        if (!treeStale) tree = tree.insert(plot);
+        for (int cx = plot.getX1() >> 4; cx <= plot.getX2() >> 4; cx++) {
+            for (int cz = plot.getZ1() >> 4; cz <= plot.getZ2() >> 4; cz++) {
+                chunks.add(PlotStore.chunkKey(cx, cz), plot);
+                claimed.set(cx, cz);
+            }
+        }
+        dirty = true;
+    }
+
+    /** Reverse of add(plot); visible after publish(). */
+    void remove(Plot plot) {
+        if (!members.remove(plot)) return;
+        if (!treeStale) tree = tree.remove(plot);
+        for (int cx = plot.getX1() >> 4; cx <= plot.getX2() >> 4; cx++) {
+            for (int cz = plot.getZ1() >> 4; cz <= plot.getZ2() >> 4; cz++) {
+                long key = PlotStore.chunkKey(cx, cz);
+                chunks.remove(key, plot);
+                if (!chunks.containsKey(key)) claimed.clear(cx, cz); // last plot left this chunk
+            }
+        }
+        dirty = true;
+    }
+
+    /** Makes the working copies visible to readers; no-op if nothing changed. */
+    void publish() {
+        if (!dirty) return;
+        if (treeStale) {
+            tree = PlotRTree.build(members); // after load / import: one packed build instead of n inserts
+            treeStale = false;
+        }
+        index = members.isEmpty()
+                ? Index.EMPTY
+                : new Index(chunks.copy(), claimed.copy(), tree);
+        dirty = false;
+    }
+
+    /** Drops all indexed plots (chunk table + bitmap + members); visible after publish(). */
+    void clear() {
+        chunks.clear();
+        claimed.clearAll();
+        members.clear();
+        tree = PlotRTree.EMPTY;
+        treeStale = true;
+        dirty = true;
+    }
+
+    int protections() { return protections; }
+
+    void setProtections(int mask) { this.protections = mask; }
+}
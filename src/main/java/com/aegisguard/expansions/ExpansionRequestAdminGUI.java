@@ -1,8 +1,8 @@
 package com.aegisguard.expansions;
 
 import com.aegisguard.AegisGuard;
+import com.aegisguard.gui.AegisHolder;
 import com.aegisguard.gui.GUIManager;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -32,6 +32,9 @@ public class ExpansionRequestAdminGUI {
         this.plugin = plugin;
     }
 
+    /** Tags this menu's inventories for click routing (see AegisHolder). */
+    public static final class ExpansionAdminHolder extends AegisHolder {}
+
     /* -----------------------------
      * Title helper (fallback-safe)
      * ----------------------------- */
@@ -66,7 +69,7 @@ public class ExpansionRequestAdminGUI {
             return;
         }
 
-        Inventory inv = Bukkit.createInventory(null, 27, title(player));
+        Inventory inv = new ExpansionAdminHolder().create(27, title(player));
 
         // Fill background first for a polished look
         ItemStack bg = filler();
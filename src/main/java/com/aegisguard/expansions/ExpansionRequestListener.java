@@ -37,13 +37,9 @@ public class ExpansionRequestListener implements Listener {
         if (!(e.getWhoClicked() instanceof Player player)) return;
         if (e.getCurrentItem() == null) return;
 
-        String title = ChatColor.stripColor(e.getView().getTitle());
+        if (!(e.getInventory().getHolder(false) instanceof ExpansionRequestAdminGUI.ExpansionAdminHolder)) return;
         ExpansionRequestManager manager = plugin.getExpansionRequestManager();
 
-        // Match GUI title (using language tone)
-        String guiTitle = ChatColor.stripColor(plugin.msg().get(player, "expansion_admin_title"));
-        if (!title.equalsIgnoreCase(guiTitle)) return;
-
         e.setCancelled(true);
         var item = e.getCurrentItem();
 
@@ -82,7 +78,7 @@ public class ExpansionRequestListener implements Listener {
         }
 
         // Refresh GUI
-        Bukkit.getScheduler().runTaskLater(plugin, () ->
+        plugin.scheduler().runForLater(player, () ->
                 plugin.gui().expansionAdmin().open(player), 2L);
     }
 
@@ -22,6 +22,7 @@ import java.util.*;
  *  - Vault economy (via VaultHook)
  *  - Item-based economy (config-driven)
  *  - Per-world restrictions (via WorldRulesManager)
+ *  - Overlap checks against neighbouring claims (via PlotStore.findConflicts)
  *  - Multilingual tone support via MessagesUtil
  *
  * Features:
@@ -72,6 +73,11 @@ public class ExpansionRequestManager {
             return false;
         }
 
+        if (wouldOverlap(plot, newRadius - currentRadius)) {
+            plugin.msg().send(requester, "expansion_overlap");
+            return false;
+        }
+
         // Calculate cost dynamically
         double cost = calculateCost(requester.getWorld().getName(), currentRadius, newRadius);
 
@@ -110,6 +116,18 @@ public class ExpansionRequestManager {
         Player p = requester.getPlayer();
         if (p == null) return false;
 
+        PlotStore.Plot plot = plugin.store().getPlotAt(p.getLocation());
+        if (plot == null) {
+            plugin.msg().send(p, "expansion_invalid");
+            return false;
+        }
+
+        // Re-check overlap before charging: neighbours may have claimed since the request
+        if (wouldOverlap(plot, req.getRequestedRadius() - req.getCurrentRadius())) {
+            plugin.msg().send(p, "expansion_overlap");
+            return false;
+        }
+
         // Charge cost
         if (!chargePlayer(p, req.getCost(), req.getWorldName())) {
             plugin.msg().send(p, "need_vault", Map.of("AMOUNT", String.format("%.2f", req.getCost())));
@@ -117,11 +135,6 @@ public class ExpansionRequestManager {
         }
 
         // Apply expansion
-        PlotStore.Plot plot = plugin.store().getPlotAt(p.getLocation());
-        if (plot == null) {
-            plugin.msg().send(p, "expansion_invalid");
-            return false;
-        }
 
         plot.setRadius(req.getRequestedRadius());
         plugin.store().savePlot(plot);
@@ -151,6 +164,16 @@ public class ExpansionRequestManager {
         return true;
     }
 
+    /* -----------------------------
+     * Overlap Logic
+     * ----------------------------- */
+    /** True if growing the plot by {@code grow} blocks on every side would overlap another plot. */
+    private boolean wouldOverlap(PlotStore.Plot plot, int grow) {
+        return !plugin.store().findConflicts(plot,
+                plot.getX1() - grow, plot.getZ1() - grow,
+                plot.getX2() + grow, plot.getZ2() + grow).isEmpty();
+    }
+
     /* -----------------------------
      * Cost Logic
      * ----------------------------- */
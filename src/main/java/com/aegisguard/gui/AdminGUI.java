@@ -2,12 +2,10 @@ package com.aegisguard.gui;
 
 import com.aegisguard.AegisGuard;
 import com.aegisguard.expansions.ExpansionRequestAdminGUI;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
 import org.bukkit.inventory.Inventory;
-import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemStack;
 
 import java.util.List;
@@ -22,9 +20,7 @@ public class AdminGUI {
     }
 
     /** Tag holder so click handler only reacts to this GUI */
-    private static class AdminHolder implements InventoryHolder {
-        @Override public Inventory getInventory() { return null; }
-    }
+    static final class AdminHolder extends AegisHolder {}
 
     private String title(Player player) {
         String raw = plugin.msg().get(player, "admin_menu_title");
@@ -55,7 +51,7 @@ public class AdminGUI {
             return;
         }
 
-        Inventory inv = Bukkit.createInventory(new AdminHolder(), 45, title(player));
+        Inventory inv = new AdminHolder().create(45, title(player));
         // background
         var bg = bg();
         for (int i = 0; i < inv.getSize(); i++) inv.setItem(i, bg);
@@ -154,7 +150,7 @@ public class AdminGUI {
 
     public void handleClick(Player player, InventoryClickEvent e) {
         // Hard guard: only handle if this is OUR menu
-        if (!(e.getInventory().getHolder() instanceof AdminHolder)) return;
+        if (!(e.getInventory().getHolder(false) instanceof AdminHolder)) return;
 
         e.setCancelled(true);
         if (e.getCurrentItem() == null) return;
@@ -169,6 +165,7 @@ public class AdminGUI {
             }
             case NETHER_STAR, IRON_NUGGET -> {
                 boolean now = flipBool("admin.bypass_claim_limit", false);
+                plugin.cfg().setAdminBypassClaimLimit(now);
                 player.sendMessage(plugin.msg().get(now ? "admin_bypass_enabled" : "admin_bypass_disabled"));
                 plugin.sounds().playMenuFlip(player);
                 open(player);
@@ -216,9 +213,11 @@ public class AdminGUI {
 
             // Reload
             case REPEATER -> {
-                plugin.reloadConfig();
+                plugin.cfg().reload(); // reloads config.yml + rebuilds claim settings
                 plugin.msg().reload();
                 plugin.store().load();
+                plugin.worldRules().load();
+                plugin.protection().reloadEffects();
                 player.sendMessage("§a✔ AegisGuard reloaded.");
                 plugin.sounds().playMenuFlip(player);
                 open(player);
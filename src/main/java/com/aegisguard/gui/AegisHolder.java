@@ -0,0 +1,25 @@
+package com.aegisguard.gui;
+
+import org.bukkit.Bukkit;
+import org.bukkit.inventory.Inventory;
+import org.bukkit.inventory.InventoryHolder;
+
+/**
+ * AegisHolder
+ * - Base InventoryHolder for every AegisGuard menu; each GUI tags its inventories with its own subclass
+ * - GUIListener / GUIManager route clicks by holder type, never by (localized) title
+ * - Clicks in any other inventory stop at one instanceof check
+ */
+public abstract class AegisHolder implements InventoryHolder {
+
+    private Inventory inventory;
+
+    /** Creates the menu inventory owned by this holder. */
+    public Inventory create(int size, String title) {
+        this.inventory = Bukkit.createInventory(this, size, title);
+        return inventory;
+    }
+
+    @Override
+    public Inventory getInventory() { return inventory; }
+}
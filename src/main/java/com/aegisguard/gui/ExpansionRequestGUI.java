@@ -2,7 +2,6 @@ package com.aegisguard.gui;
 
 import com.aegisguard.AegisGuard;
 import com.aegisguard.data.PlotStore;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -30,6 +29,9 @@ public class ExpansionRequestGUI {
         this.plugin = plugin;
     }
 
+    /** Tags this menu's inventories for click routing (see AegisHolder). */
+    static final class ExpansionRequestHolder extends AegisHolder {}
+
     /* -----------------------------
      * Title helper (fallback-safe)
      * ----------------------------- */
@@ -62,7 +64,7 @@ public class ExpansionRequestGUI {
             return;
         }
 
-        Inventory inv = Bukkit.createInventory(null, 27, title(player));
+        Inventory inv = new ExpansionRequestHolder().create(27, title(player));
 
         // Fill background for a polished look
         ItemStack bg = filler();
@@ -125,13 +127,12 @@ public class ExpansionRequestGUI {
      * Handle Clicks
      * ----------------------------- */
     public void handleClick(Player player, InventoryClickEvent e) {
+        // Only handle our own menu (holder tag, not the localized title)
+        if (!(e.getInventory().getHolder(false) instanceof ExpansionRequestHolder)) return;
+
         e.setCancelled(true);
         if (e.getCurrentItem() == null) return;
 
-        // Ensure we're handling the right GUI by matching the localized title
-        String expected = title(player);
-        if (!expected.equals(e.getView().getTitle())) return;
-
         Material type = e.getCurrentItem().getType();
 
         // We only operate on the plot the player is standing in (for context)
@@ -5,6 +5,7 @@ import com.aegisguard.expansions.ExpansionRequestAdminGUI;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
+import org.bukkit.inventory.InventoryHolder;
 import org.bukkit.inventory.ItemFlag;
 import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
@@ -24,6 +25,8 @@ public class GUIManager {
     private final SettingsGUI settingsGUI;
     private final AdminGUI adminGUI;
     private final ExpansionRequestAdminGUI expansionAdminGUI; // placeholder "coming soon"
+    private final ExpansionRequestGUI expansionRequestGUI;
+    private final RolesGUI rolesGUI;
 
     public GUIManager(AegisGuard plugin) {
         this.plugin = plugin;
@@ -32,6 +35,8 @@ public class GUIManager {
         this.settingsGUI = new SettingsGUI(plugin);
         this.adminGUI = new AdminGUI(plugin);
         this.expansionAdminGUI = new ExpansionRequestAdminGUI(plugin); // compiles without backend
+        this.expansionRequestGUI = new ExpansionRequestGUI(plugin);
+        this.rolesGUI = new RolesGUI(plugin);
     }
 
     // Accessors
@@ -40,6 +45,8 @@ public class GUIManager {
     public SettingsGUI settings() { return settingsGUI; }
     public AdminGUI admin() { return adminGUI; }
     public ExpansionRequestAdminGUI expansionAdmin() { return expansionAdminGUI; }
+    public ExpansionRequestGUI expansionRequest() { return expansionRequestGUI; }
+    public RolesGUI roles() { return rolesGUI; }
 
     /* -----------------------------
      * Open Main Menu (Player GUI)
@@ -47,36 +54,35 @@ public class GUIManager {
     public void openMain(Player player) { playerGUI.open(player); }
 
     /* -----------------------------
-     * Route clicks by inventory title
+     * Route clicks by inventory holder
      * ----------------------------- */
     public void handleClick(Player player, InventoryClickEvent e) {
+        InventoryHolder holder = e.getInventory().getHolder(false);
+        if (!(holder instanceof AegisHolder)) return;
+
         e.setCancelled(true);
         if (e.getCurrentItem() == null) return;
 
-        String title = e.getView().getTitle();
-
-        if (title.equals(plugin.msg().get("menu_title"))) {
+        if (holder instanceof PlayerGUI.PlayerHolder) {
             playerGUI.handleClick(player, e);
         }
-        else if (title.equals(plugin.msg().get("trusted_menu_title"))
-              || title.equals(plugin.msg().get("add_trusted_title"))
-              || title.equals(plugin.msg().get("remove_trusted_title"))) {
+        else if (holder instanceof TrustedGUI.TrustedHolder) {
             trustedGUI.handleClick(player, e);
         }
-        else if (title.equals(plugin.msg().get("settings_menu_title"))) {
+        else if (holder instanceof SettingsGUI.SettingsHolder) {
             settingsGUI.handleClick(player, e);
         }
-        else if (title.equals(plugin.msg().get("admin_menu_title"))) {
+        else if (holder instanceof AdminGUI.AdminHolder) {
             adminGUI.handleClick(player, e);
         }
-        else {
-            // Expansion Admin title (fallback to default if key missing)
-            String expTitle = plugin.msg().has("expansion_admin_title")
-                    ? plugin.msg().get("expansion_admin_title")
-                    : "§b🛡 AegisGuard — Expansion Admin";
-            if (title.equals(expTitle)) {
-                expansionAdminGUI.handleClick(player, e);
-            }
+        else if (holder instanceof ExpansionRequestAdminGUI.ExpansionAdminHolder) {
+            expansionAdminGUI.handleClick(player, e);
+        }
+        else if (holder instanceof ExpansionRequestGUI.ExpansionRequestHolder) {
+            expansionRequestGUI.handleClick(player, e);
+        }
+        else if (holder instanceof RolesGUI.RolesHolder) {
+            rolesGUI.handleClick(player, e);
         }
     }
 
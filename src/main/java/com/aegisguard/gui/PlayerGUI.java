@@ -1,7 +1,6 @@
 package com.aegisguard.gui;
 
 import com.aegisguard.AegisGuard;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
@@ -21,9 +20,12 @@ public class PlayerGUI {
         this.plugin = plugin;
     }
 
+    /** Tags this menu's inventories for click routing (see AegisHolder). */
+    static final class PlayerHolder extends AegisHolder {}
+
     public void open(Player player) {
         String title = m(player, "menu_title", "§b§lAegisGuard §7— Menu");
-        Inventory inv = Bukkit.createInventory(null, 27, title);
+        Inventory inv = new PlayerHolder().create(27, title);
 
         // Claim Land
         inv.setItem(11, createItem(
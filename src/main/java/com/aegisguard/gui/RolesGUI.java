@@ -1,7 +1,6 @@
 package com.aegisguard.gui;
 
 import com.aegisguard.AegisGuard;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -19,9 +18,12 @@ public class RolesGUI {
         this.plugin = plugin;
     }
 
+    /** Tags this menu's inventories for click routing (see AegisHolder). */
+    static final class RolesHolder extends AegisHolder {}
+
     public void open(Player player) {
         String title = plugin.msg().get("roles_menu_title");
-        Inventory inv = Bukkit.createInventory(null, 27, title);
+        Inventory inv = new RolesHolder().create(27, title);
 
         // Placeholder “Coming Soon” icon
         ItemStack placeholder = new ItemStack(Material.NAME_TAG);
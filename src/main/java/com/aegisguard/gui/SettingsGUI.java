@@ -2,7 +2,6 @@ package com.aegisguard.gui;
 
 import com.aegisguard.AegisGuard;
 import com.aegisguard.data.PlotStore;
-import org.bukkit.Bukkit;
 import org.bukkit.Material;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
@@ -34,11 +33,14 @@ public class SettingsGUI {
         this.plugin = plugin;
     }
 
+    /** Tags this menu's inventories for click routing (see AegisHolder). */
+    public static final class SettingsHolder extends AegisHolder {}
+
     /* -----------------------------
      * Open Settings Menu
      * ----------------------------- */
     public void open(Player player) {
-        Inventory inv = Bukkit.createInventory(null, 54, plugin.msg().get(player, "settings_menu_title"));
+        Inventory inv = new SettingsHolder().create(54, plugin.msg().get(player, "settings_menu_title"));
 
         // --- Sounds ---
         boolean globalEnabled = plugin.getConfig().getBoolean("sounds.global_enabled", true);
@@ -244,19 +246,19 @@ public class SettingsGUI {
             return;
         }
         boolean next = !plot.getFlag("safe_zone", true);
-        plot.setFlag("safe_zone", next);
+        PlotStore store = plugin.store();
+        store.setFlag(plot, "safe_zone", next);
 
         // When toggling Safe Zone ON, also ensure the individual protections are ON
         if (next) {
-            plot.setFlag("pvp", true);
-            plot.setFlag("mobs", true);
-            plot.setFlag("containers", true);
-            plot.setFlag("entities", true);
-            plot.setFlag("pets", true);
-            plot.setFlag("farm", true);
+            store.setFlag(plot, "pvp", true);
+            store.setFlag(plot, "mobs", true);
+            store.setFlag(plot, "containers", true);
+            store.setFlag(plot, "entities", true);
+            store.setFlag(plot, "pets", true);
+            store.setFlag(plot, "farm", true);
         }
 
-        plugin.store().flushSync();
         plugin.msg().send(player, next ? "safe_zone_enabled" : "safe_zone_disabled");
     }
 
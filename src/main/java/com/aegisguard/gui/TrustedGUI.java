@@ -1,10 +1,11 @@
 package com.aegisguard.gui;
 
 import com.aegisguard.AegisGuard;
+import com.aegisguard.data.NameCache;
 import com.aegisguard.data.PlotStore.Plot;
+import com.destroystokyo.paper.profile.PlayerProfile;
 import org.bukkit.Bukkit;
 import org.bukkit.Material;
-import org.bukkit.OfflinePlayer;
 import org.bukkit.Sound;
 import org.bukkit.entity.Player;
 import org.bukkit.event.inventory.InventoryClickEvent;
@@ -23,6 +24,15 @@ public class TrustedGUI {
         this.plugin = plugin;
     }
 
+    /** Tags the trusted menus for click routing (see AegisHolder); view tells them apart. */
+    static final class TrustedHolder extends AegisHolder {
+        enum View { MAIN, ADD, REMOVE }
+
+        final View view;
+
+        TrustedHolder(View view) { this.view = view; }
+    }
+
     /* -----------------------------
      * Open Trusted Menu
      * ----------------------------- */
@@ -34,20 +44,19 @@ public class TrustedGUI {
         }
         Plot plot = plots.get(0);
 
-        Inventory inv = Bukkit.createInventory(null, 54, m("trusted_menu_title", "§b§lAegisGuard §7— Trusted"));
+        Inventory inv = new TrustedHolder(TrustedHolder.View.MAIN).create(54, m("trusted_menu_title", "§b§lAegisGuard §7— Trusted"));
 
         // Trusted players list
         int slot = 0;
         for (UUID trustedId : plot.getTrusted()) {
             if (slot >= 45) break;
 
-            OfflinePlayer trusted = Bukkit.getOfflinePlayer(trustedId);
+            String playerName = plugin.names().name(trustedId);
             ItemStack head = new ItemStack(Material.PLAYER_HEAD);
             SkullMeta meta = (SkullMeta) head.getItemMeta();
 
             if (meta != null) {
-                meta.setOwningPlayer(trusted);
-                String playerName = trusted.getName() != null ? trusted.getName() : "Unknown";
+                meta.setPlayerProfile(profile(trustedId, playerName));
                 meta.setDisplayName(plugin.msg().color("&a" + playerName));
                 meta.setLore(l("trusted_menu_lore", List.of("§7Click a head to remove from trusted.")));
                 head.setItemMeta(meta);
@@ -102,7 +111,7 @@ public class TrustedGUI {
         ItemStack clicked = e.getCurrentItem();
         if (clicked == null || clicked.getType().isAir()) return;
 
-        String title = e.getView().getTitle();
+        if (!(e.getInventory().getHolder(false) instanceof TrustedHolder holder)) return;
         List<Plot> plots = plugin.store().getPlots(player.getUniqueId());
         if (plots == null || plots.isEmpty()) {
             plugin.msg().send(player, "no_plot_here");
@@ -112,23 +121,15 @@ public class TrustedGUI {
         }
         Plot plot = plots.get(0);
 
-        String tMain    = m("trusted_menu_title", "AegisGuard — Trusted");
-        String tAdd     = m("add_trusted_title", "AegisGuard — Add Trusted");
-        String tRemove  = m("remove_trusted_title", "AegisGuard — Remove Trusted");
-
         // MAIN Trusted menu
-        if (title.equals(tMain)) {
+        if (holder.view == TrustedHolder.View.MAIN) {
             switch (clicked.getType()) {
                 case PLAYER_HEAD -> { // quick remove shortcut
-                    SkullMeta meta = (SkullMeta) clicked.getItemMeta();
-                    if (meta != null) {
-                        OfflinePlayer target = meta.getOwningPlayer();
-                        if (target != null && plot.getTrusted().contains(target.getUniqueId())) {
-                            plot.getTrusted().remove(target.getUniqueId());
-                            plugin.msg().send(player, "trusted_removed", "PLAYER", safeName(target));
-                            playFlip(player);
-                            open(player);
-                        }
+                    UUID target = headOwner(clicked);
+                    if (target != null && plugin.store().removeTrusted(plot, target)) {
+                        plugin.msg().send(player, "trusted_removed", "PLAYER", plugin.names().name(target));
+                        playFlip(player);
+                        open(player);
                     }
                 }
                 case EMERALD -> { // open Add menu
@@ -163,33 +164,31 @@ public class TrustedGUI {
         }
 
         // ADD Trusted menu
-        if (title.equals(tAdd)) {
+        if (holder.view == TrustedHolder.View.ADD) {
             if (clicked.getType() == Material.PLAYER_HEAD) {
-                SkullMeta meta = (SkullMeta) clicked.getItemMeta();
-                if (meta != null) {
-                    OfflinePlayer target = meta.getOwningPlayer();
-                    if (target != null && !target.getUniqueId().equals(player.getUniqueId())) {
-                        if (plot.getTrusted().add(target.getUniqueId())) {
-                            plugin.msg().send(player, "trusted_added", "PLAYER", safeName(target));
-                            playFlip(player);
-                        } else {
-                            plugin.msg().send(player, "trusted_already", "PLAYER", safeName(target));
-                        }
-                        open(player); // back to main trusted list
+                UUID target = headOwner(clicked);
+                if (target != null && !target.equals(player.getUniqueId())) {
+                    Player online = Bukkit.getPlayer(target);
+                    String name = online != null ? online.getName() : plugin.names().name(target);
+                    if (plugin.store().addTrusted(plot, target, name)) {
+                        plugin.msg().send(player, "trusted_added", "PLAYER", name);
+                        playFlip(player);
+                    } else {
+                        plugin.msg().send(player, "trusted_already", "PLAYER", name);
                     }
+                    open(player); // back to main trusted list
                 }
             }
             return;
         }
 
         // REMOVE Trusted menu
-        if (title.equals(tRemove)) {
+        if (holder.view == TrustedHolder.View.REMOVE) {
             if (clicked.getType() == Material.PLAYER_HEAD) {
-                SkullMeta meta = (SkullMeta) clicked.getItemMeta();
-                if (meta != null) {
-                    OfflinePlayer target = meta.getOwningPlayer();
-                    if (target != null && plot.getTrusted().remove(target.getUniqueId())) {
-                        plugin.msg().send(player, "trusted_removed", "PLAYER", safeName(target));
+                UUID target = headOwner(clicked);
+                if (target != null) {
+                    if (plugin.store().removeTrusted(plot, target)) {
+                        plugin.msg().send(player, "trusted_removed", "PLAYER", plugin.names().name(target));
                         playFlip(player);
                     }
                     open(player); // back to main trusted list
@@ -203,7 +202,7 @@ public class TrustedGUI {
      * ----------------------------- */
     private void openAddMenu(Player player) {
         String addTitle = m("add_trusted_title", "§b§lAegisGuard §7— Add Trusted");
-        Inventory addMenu = Bukkit.createInventory(null, 54, addTitle);
+        Inventory addMenu = new TrustedHolder(TrustedHolder.View.ADD).create(54, addTitle);
 
         int slot = 0;
         for (Player online : Bukkit.getOnlinePlayers()) {
@@ -225,18 +224,18 @@ public class TrustedGUI {
 
     private void openRemoveMenu(Player player, Plot plot) {
         String removeTitle = m("remove_trusted_title", "§b§lAegisGuard §7— Remove Trusted");
-        Inventory removeMenu = Bukkit.createInventory(null, 54, removeTitle);
+        Inventory removeMenu = new TrustedHolder(TrustedHolder.View.REMOVE).create(54, removeTitle);
 
         int slot = 0;
         for (UUID trustedId : plot.getTrusted()) {
             if (slot >= 54) break;
-            OfflinePlayer trusted = Bukkit.getOfflinePlayer(trustedId);
+            String name = plugin.names().name(trustedId);
 
             ItemStack head = new ItemStack(Material.PLAYER_HEAD);
             SkullMeta meta = (SkullMeta) head.getItemMeta();
             if (meta != null) {
-                meta.setOwningPlayer(trusted);
-                meta.setDisplayName(plugin.msg().color("&c" + safeName(trusted)));
+                meta.setPlayerProfile(profile(trustedId, name));
+                meta.setDisplayName(plugin.msg().color("&c" + name));
                 meta.setLore(l("remove_trusted_lore", List.of("§7Click to remove from trusted.")));
                 head.setItemMeta(meta);
             }
@@ -248,9 +247,16 @@ public class TrustedGUI {
     /* -----------------------------
      * Helpers
      * ----------------------------- */
-    private String safeName(OfflinePlayer p) {
-        String n = p.getName();
-        return (n == null || n.isEmpty()) ? "Unknown" : n;
+    /** Skull profile from cached data only (no usercache / Mojang lookup). */
+    private PlayerProfile profile(UUID id, String name) {
+        return Bukkit.createProfile(id, NameCache.UNKNOWN.equals(name) ? null : name);
+    }
+
+    /** UUID of the player a head item shows, read straight from its profile. */
+    private UUID headOwner(ItemStack head) {
+        if (!(head.getItemMeta() instanceof SkullMeta meta)) return null;
+        PlayerProfile profile = meta.getPlayerProfile();
+        return profile != null ? profile.getId() : null;
     }
 
     private String m(String key, String fallback) {
@@ -0,0 +1,68 @@
+package com.aegisguard.protection;
+
+import com.aegisguard.protection.ProtectionEffects.Category;
+import org.bukkit.configuration.file.FileConfiguration;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * DenialThrottle
+ * - Rate-limits denial feedback per (player, category) with a cooldown window
+ * - First denial in a window is shown (chat + sound + particles); the rest are only counted
+ * - The next shown denial reports how many were collapsed into it ("x12")
+ *
+ * On Folia the victim's and the attacker's regions can deny the same player at once, so each
+ * window is updated under its own monitor (uncontended in practice).
+ */
+final class DenialThrottle {
+
+    private static final int CATEGORIES = Category.values().length;
+
+    private static final class Window {
+        long until;      // millis; denials before this are suppressed (guarded by this)
+        int suppressed;  // denials swallowed since the last one shown (guarded by this)
+    }
+
+    private final long cooldownMs;
+    private final boolean showCount;
+    private final Map<UUID, Window[]> windows = new ConcurrentHashMap<>();
+
+    DenialThrottle(FileConfiguration cfg) {
+        this.cooldownMs = Math.max(0L, cfg.getLong("denial_feedback.cooldown_ms", 1500L));
+        this.showCount = cfg.getBoolean("denial_feedback.show_count", true);
+    }
+
+    /**
+     * Records a denial. Returns -1 if it falls inside the cooldown (send nothing), otherwise the
+     * number of denials shown by this one, including itself (1 = nothing was collapsed).
+     */
+    int fire(UUID player, Category category) {
+        if (cooldownMs == 0) return 1;
+        Window w = windows.computeIfAbsent(player, k -> newWindows())[category.ordinal()];
+
+        long now = System.currentTimeMillis();
+        synchronized (w) {
+            if (now < w.until) {
+                w.suppressed++;
+                return -1;
+            }
+            int shown = w.suppressed + 1;
+            w.suppressed = 0;
+            w.until = now + cooldownMs;
+            return shown;
+        }
+    }
+
+    /** All windows are created up front, so concurrent callers never race to install one. */
+    private static Window[] newWindows() {
+        Window[] ws = new Window[CATEGORIES];
+        for (int i = 0; i < CATEGORIES; i++) ws[i] = new Window();
+        return ws;
+    }
+
+    boolean showCount() { return showCount; }
+
+    void forget(UUID player) { windows.remove(player); }
+}
@@ -0,0 +1,129 @@
+package com.aegisguard.protection;
+
+import org.bukkit.Location;
+import org.bukkit.Particle;
+import org.bukkit.Sound;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.file.FileConfiguration;
+import org.bukkit.entity.Player;
+
+import java.util.EnumMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.logging.Logger;
+
+/**
+ * ProtectionEffects
+ * - protection_effects compiled into a (category, outcome) -> Effect table at load / reload
+ * - Sound / Particle names resolved once; invalid names are logged once and fall back to
+ *   protection_effects.defaults
+ * - play() does no config or string work: two enum-indexed lookups and the effect itself
+ */
+final class ProtectionEffects {
+
+    enum Category {
+        BUILD, CONTAINERS, PVP, MOBS, PETS, ENTITIES, FARM, SAFE_ZONE;
+
+        final String key = name().toLowerCase(Locale.ROOT);
+
+        /** Category for a flag name (see FlagRegistry); anything else is BUILD. */
+        static Category of(String flag) {
+            if (flag == null) return BUILD;
+            return switch (flag) {
+                case "containers" -> CONTAINERS;
+                case "pvp" -> PVP;
+                case "mobs" -> MOBS;
+                case "pets" -> PETS;
+                case "entities" -> ENTITIES;
+                case "farm" -> FARM;
+                case "safe_zone" -> SAFE_ZONE;
+                default -> BUILD;
+            };
+        }
+    }
+
+    enum Outcome {
+        DENY, SUCCESS, FAIL;
+
+        final String key = name().toLowerCase(Locale.ROOT);
+    }
+
+    /** One resolved effect; sound / particle may be null (not configured or invalid). */
+    record Effect(Sound sound, Particle particle, int count, double offset, double speed) {
+
+        void play(Player p, Location loc) {
+            if (sound != null) p.playSound(loc, sound, 1f, 1f);
+            if (particle != null && count > 0 && loc.getWorld() != null) {
+                loc.getWorld().spawnParticle(particle, loc.getX() + 0.5, loc.getY() + 1, loc.getZ() + 0.5,
+                        count, offset, offset, offset, speed);
+            }
+        }
+    }
+
+    private static final Effect BASE = new Effect(null, null, 10, 0.3, 0.05); // under protection_effects.defaults
+
+    private final boolean enabled;
+    private final Map<Category, EnumMap<Outcome, Effect>> table = new EnumMap<>(Category.class);
+
+    ProtectionEffects(FileConfiguration cfg, Logger log) {
+        this.enabled = cfg.getBoolean("protection_effects.enabled", true);
+
+        ConfigurationSection root = cfg.getConfigurationSection("protection_effects");
+        ConfigurationSection defs = root == null ? null : root.getConfigurationSection("defaults");
+
+        EnumMap<Outcome, Effect> defaults = new EnumMap<>(Outcome.class);
+        for (Outcome o : Outcome.values()) defaults.put(o, compile(defs, o, BASE, log));
+
+        for (Category c : Category.values()) {
+            ConfigurationSection sec = root == null ? null : root.getConfigurationSection(c.key);
+            EnumMap<Outcome, Effect> row = new EnumMap<>(Outcome.class);
+            for (Outcome o : Outcome.values()) {
+                Effect def = defaults.get(o);
+                row.put(o, sec == null ? def : compile(sec, o, def, log));
+            }
+            table.put(c, row);
+        }
+    }
+
+    void play(Category category, Outcome outcome, Player p, Location loc) {
+        if (!enabled) return;
+        table.get(category).get(outcome).play(p, loc);
+    }
+
+    /* -----------------------------
+     * Compile
+     * ----------------------------- */
+    private static Effect compile(ConfigurationSection sec, Outcome o, Effect def, Logger log) {
+        if (sec == null) return def;
+        Sound sound = def.sound();
+        String soundName = sec.getString(o.key + "_sound");
+        if (soundName != null) {
+            try {
+                sound = Sound.valueOf(soundName.toUpperCase(Locale.ROOT));
+            } catch (IllegalArgumentException ex) {
+                warn(log, sec, o.key + "_sound", soundName);
+            }
+        }
+
+        Particle particle = def.particle();
+        String particleName = sec.getString(o.key + "_particle");
+        if (particleName != null) {
+            try {
+                Particle parsed = Particle.valueOf(particleName.toUpperCase(Locale.ROOT));
+                if (parsed.getDataType() == Void.class) particle = parsed;
+                else warn(log, sec, o.key + "_particle", particleName + " (needs extra data)");
+            } catch (IllegalArgumentException ex) {
+                warn(log, sec, o.key + "_particle", particleName);
+            }
+        }
+
+        return new Effect(sound, particle,
+                sec.getInt("particle_count", def.count()),
+                sec.getDouble("particle_offset", def.offset()),
+                sec.getDouble("particle_speed", def.speed()));
+    }
+
+    private static void warn(Logger log, ConfigurationSection sec, String key, String value) {
+        log.warning("[AegisGuard] Invalid " + sec.getCurrentPath() + "." + key + ": " + value + " (using default)");
+    }
+}
@@ -1,14 +1,19 @@
 package com.aegisguard.protection;
 
 import com.aegisguard.AegisGuard;
+import com.aegisguard.data.FlagRegistry;
 import com.aegisguard.data.PlotStore;
+import com.aegisguard.protection.ProtectionEffects.Category;
+import com.aegisguard.protection.ProtectionEffects.Outcome;
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.format.NamedTextColor;
+import org.bukkit.Bukkit;
 import org.bukkit.Location;
 import org.bukkit.Material;
-import org.bukkit.Particle;
-import org.bukkit.Sound;
 import org.bukkit.block.Block;
 import org.bukkit.entity.*;
 import org.bukkit.event.EventHandler;
+import org.bukkit.event.EventPriority;
 import org.bukkit.event.Listener;
 import org.bukkit.event.block.Action;
 import org.bukkit.event.block.BlockBreakEvent;
@@ -16,26 +21,84 @@ import org.bukkit.event.block.BlockPlaceEvent;
 import org.bukkit.event.entity.EntityDamageByEntityEvent;
 import org.bukkit.event.entity.EntitySpawnEvent;
 import org.bukkit.event.entity.EntityTargetEvent;
+import org.bukkit.event.player.PlayerChangedWorldEvent;
 import org.bukkit.event.player.PlayerInteractEntityEvent;
 import org.bukkit.event.player.PlayerInteractEvent;
+import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 import org.bukkit.projectiles.ProjectileSource;
 
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+
 /**
  * ProtectionManager (AegisGuard)
  * ---------------------------------------------
  * Enforces per-plot flags:
  *  - pvp, containers, mobs, pets, entities, farm
  *  - safe_zone (master switch: if true, all protections apply)
+ *  - per-world rules (WorldRulesManager) can switch a protection off for a whole world
  *
  * Owners + Trusted bypass build/container/entity protections.
+ * Admins (aegis.admin) bypass too; the permission is cached per online player
+ * (join / world change / periodic refresh) so build checks never walk the permission tree.
  * PvP protection blocks PvP regardless of trust.
  */
 public class ProtectionManager implements Listener {
 
     private final AegisGuard plugin;
 
+    // Online players holding aegis.admin (build bypass); read from any region thread
+    private final Set<UUID> admins = ConcurrentHashMap.newKeySet();
+
+    // protection_effects compiled + denial_feedback throttle (see reloadEffects)
+    private volatile ProtectionEffects effects;
+    private volatile DenialThrottle throttle;
+
     public ProtectionManager(AegisGuard plugin) {
         this.plugin = plugin;
+        reloadEffects();
+
+        // No portable permission-change event: re-check periodically, plus on join / world change
+        refreshAdmins();
+        long period = Math.max(20L, plugin.getConfig().getLong("admin.bypass_refresh_ticks", 100L));
+        plugin.scheduler().runGlobalTimer(this::refreshAdmins, period, period);
+    }
+
+    /** Recompiles protection_effects and denial_feedback from the current config (startup / reload). */
+    public void reloadEffects() {
+        this.effects = new ProtectionEffects(plugin.getConfig(), plugin.getLogger());
+        this.throttle = new DenialThrottle(plugin.getConfig());
+    }
+
+    /* -----------------------------------------------------
+     *  ADMIN BYPASS CACHE
+     * ----------------------------------------------------- */
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onJoin(PlayerJoinEvent e)          { updateAdmin(e.getPlayer()); }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onWorldChange(PlayerChangedWorldEvent e) { updateAdmin(e.getPlayer()); }
+
+    @EventHandler(priority = EventPriority.MONITOR)
+    public void onQuit(PlayerQuitEvent e) {
+        admins.remove(e.getPlayer().getUniqueId());
+        plugin.store().forgetPlayer(e.getPlayer().getUniqueId());
+        throttle.forget(e.getPlayer().getUniqueId());
+    }
+
+    /** Re-reads the bypass permission for one player (call after changing their permissions). */
+    public void updateAdmin(Player p) {
+        if (p.hasPermission("aegis.admin")) admins.add(p.getUniqueId());
+        else admins.remove(p.getUniqueId());
+    }
+
+    /** Updates entries in place (never cleared), so bypass checks on other threads never see a gap. */
+    private void refreshAdmins() {
+        for (Player p : Bukkit.getOnlinePlayers()) updateAdmin(p);
+        admins.removeIf(id -> Bukkit.getPlayer(id) == null);
     }
 
     /* -----------------------------------------------------
@@ -45,26 +108,24 @@ public class ProtectionManager implements Listener {
     @EventHandler
     public void onBreak(BlockBreakEvent e) {
         Player p = e.getPlayer();
-        PlotStore.Plot plot = plugin.store().getPlotAt(e.getBlock().getLocation());
+        PlotStore.Plot plot = plugin.store().getPlotAt(p, e.getBlock().getLocation());
         if (plot == null) return;
 
         if (!canBuild(p, plot)) {
             e.setCancelled(true);
-            p.sendMessage(plugin.msg().get("cannot_break"));
-            playEffect("build", "deny", p, e.getBlock().getLocation());
+            deny(p, Category.BUILD, "cannot_break", e.getBlock().getLocation());
         }
     }
 
     @EventHandler
     public void onPlace(BlockPlaceEvent e) {
         Player p = e.getPlayer();
-        PlotStore.Plot plot = plugin.store().getPlotAt(e.getBlock().getLocation());
+        PlotStore.Plot plot = plugin.store().getPlotAt(p, e.getBlock().getLocation());
         if (plot == null) return;
 
         if (!canBuild(p, plot)) {
             e.setCancelled(true);
-            p.sendMessage(plugin.msg().get("cannot_place"));
-            playEffect("build", "deny", p, e.getBlock().getLocation());
+            deny(p, Category.BUILD, "cannot_place", e.getBlock().getLocation());
         }
     }
 
@@ -74,14 +135,13 @@ public class ProtectionManager implements Listener {
 
         Player p = e.getPlayer();
         Block block = e.getClickedBlock();
-        PlotStore.Plot plot = plugin.store().getPlotAt(block.getLocation());
+        PlotStore.Plot plot = plugin.store().getPlotAt(p, block.getLocation());
         if (plot == null) return;
 
         // Container access is protected for non-trusted when flag active (or safe_zone)
-        if (!canBuild(p, plot) && isContainer(block.getType()) && enabled(plot, "containers")) {
+        if (!canBuild(p, plot) && isContainer(block.getType()) && enabled(plot, FlagRegistry.CONTAINERS)) {
             e.setCancelled(true);
-            p.sendMessage(plugin.msg().get("cannot_interact"));
-            playEffect("containers", "deny", p, block.getLocation());
+            deny(p, Category.CONTAINERS, "cannot_interact", block.getLocation());
         }
     }
 
@@ -96,13 +156,12 @@ public class ProtectionManager implements Listener {
         Player attacker = resolveAttacker(e.getDamager());
         if (attacker == null) return;
 
-        PlotStore.Plot plot = plugin.store().getPlotAt(victim.getLocation());
+        PlotStore.Plot plot = plugin.store().getPlotAt(victim, victim.getLocation());
         if (plot == null) return;
 
-        if (enabled(plot, "pvp")) {
+        if (enabled(plot, FlagRegistry.PVP)) {
             e.setCancelled(true);
-            attacker.sendMessage(plugin.msg().get("cannot_attack"));
-            playEffect("pvp", "deny", attacker, victim.getLocation());
+            deny(attacker, Category.PVP, "cannot_attack", victim.getLocation());
         }
     }
 
@@ -116,10 +175,9 @@ public class ProtectionManager implements Listener {
         PlotStore.Plot plot = plugin.store().getPlotAt(e.getEntity().getLocation());
         if (plot == null) return;
 
-        if (enabled(plot, "pets")) {
+        if (enabled(plot, FlagRegistry.PETS)) {
             e.setCancelled(true);
-            attacker.sendMessage(plugin.msg().get("cannot_interact")); // reuse localized denial
-            playEffect("pets", "deny", attacker, pet.getLocation());
+            deny(attacker, Category.PETS, "cannot_interact", pet.getLocation()); // reuse localized denial
         }
     }
 
@@ -134,14 +192,13 @@ public class ProtectionManager implements Listener {
         }
 
         Player p = e.getPlayer();
-        PlotStore.Plot plot = plugin.store().getPlotAt(clicked.getLocation());
+        PlotStore.Plot plot = plugin.store().getPlotAt(p, clicked.getLocation());
         if (plot == null) return;
 
         // Protect decorative entities for non-trusted
-        if (!canBuild(p, plot) && enabled(plot, "entities")) {
+        if (!canBuild(p, plot) && enabled(plot, FlagRegistry.ENTITIES)) {
             e.setCancelled(true);
-            p.sendMessage(plugin.msg().get("cannot_interact"));
-            playEffect("entities", "deny", p, clicked.getLocation());
+            deny(p, Category.ENTITIES, "cannot_interact", clicked.getLocation());
         }
     }
 
@@ -149,10 +206,10 @@ public class ProtectionManager implements Listener {
     public void onTarget(EntityTargetEvent e) {
         if (!(e.getTarget() instanceof Player p)) return;
 
-        PlotStore.Plot plot = plugin.store().getPlotAt(p.getLocation());
+        PlotStore.Plot plot = plugin.store().getPlotAt(p, p.getLocation());
         if (plot == null) return;
 
-        if (enabled(plot, "mobs") && e.getEntity() instanceof Monster) {
+        if (enabled(plot, FlagRegistry.MOBS) && e.getEntity() instanceof Monster) {
             e.setCancelled(true);
         }
     }
@@ -164,7 +221,7 @@ public class ProtectionManager implements Listener {
         PlotStore.Plot plot = plugin.store().getPlotAt(e.getLocation());
         if (plot == null) return;
 
-        if (enabled(plot, "mobs")) {
+        if (enabled(plot, FlagRegistry.MOBS)) {
             e.setCancelled(true);
         }
     }
@@ -179,13 +236,12 @@ public class ProtectionManager implements Listener {
         if (e.getClickedBlock() == null || e.getClickedBlock().getType() != Material.FARMLAND) return;
 
         Player p = e.getPlayer();
-        PlotStore.Plot plot = plugin.store().getPlotAt(e.getClickedBlock().getLocation());
+        PlotStore.Plot plot = plugin.store().getPlotAt(p, e.getClickedBlock().getLocation());
         if (plot == null) return;
 
-        if (enabled(plot, "farm")) {
+        if (enabled(plot, FlagRegistry.FARM)) {
             e.setCancelled(true);
-            p.sendMessage(plugin.msg().get("cannot_interact")); // localized, simple denial
-            playEffect("farm", "deny", p, e.getClickedBlock().getLocation());
+            deny(p, Category.FARM, "cannot_interact", e.getClickedBlock().getLocation()); // localized, simple denial
         }
     }
 
@@ -197,58 +253,61 @@ public class ProtectionManager implements Listener {
         PlotStore.Plot plot = plugin.store().getPlotAt(player.getLocation());
         if (plot == null) {
             player.sendMessage(plugin.msg().get("no_plot_here"));
-            playEffect(flag, "fail", player, player.getLocation());
+            playEffect(Category.of(flag), Outcome.FAIL, player, player.getLocation());
             return;
         }
 
         boolean current = plot.getFlag(flag, true);
-        plot.setFlag(flag, !current);
-        plugin.store().flushSync();
+        plugin.store().setFlag(plot, flag, !current);
 
         // Feedback is handled by GUI using localized labels; keep chat minimal here if desired.
-        playEffect(flag, "success", player, player.getLocation());
+        playEffect(Category.of(flag), Outcome.SUCCESS, player, player.getLocation());
     }
 
     // Exposed to SettingsGUI
-    public boolean isPvPEnabled(Player player)        { return hasFlag(player, "pvp"); }
+    public boolean isPvPEnabled(Player player)        { return hasFlag(player, FlagRegistry.PVP); }
     public void    togglePvP(Player player)           { toggleFlag(player, "pvp"); }
 
-    public boolean isContainersEnabled(Player player) { return hasFlag(player, "containers"); }
+    public boolean isContainersEnabled(Player player) { return hasFlag(player, FlagRegistry.CONTAINERS); }
     public void    toggleContainers(Player player)    { toggleFlag(player, "containers"); }
 
-    public boolean isMobProtectionEnabled(Player p)   { return hasFlag(p, "mobs"); }
+    public boolean isMobProtectionEnabled(Player p)   { return hasFlag(p, FlagRegistry.MOBS); }
     public void    toggleMobProtection(Player p)      { toggleFlag(p, "mobs"); }
 
-    public boolean isPetProtectionEnabled(Player p)   { return hasFlag(p, "pets"); }
+    public boolean isPetProtectionEnabled(Player p)   { return hasFlag(p, FlagRegistry.PETS); }
     public void    togglePetProtection(Player p)      { toggleFlag(p, "pets"); }
 
-    public boolean isEntityProtectionEnabled(Player p){ return hasFlag(p, "entities"); }
+    public boolean isEntityProtectionEnabled(Player p){ return hasFlag(p, FlagRegistry.ENTITIES); }
     public void    toggleEntityProtection(Player p)   { toggleFlag(p, "entities"); }
 
-    public boolean isFarmProtectionEnabled(Player p)  { return hasFlag(p, "farm"); }
+    public boolean isFarmProtectionEnabled(Player p)  { return hasFlag(p, FlagRegistry.FARM); }
     public void    toggleFarmProtection(Player p)     { toggleFlag(p, "farm"); }
 
-    public boolean isSafeZoneEnabled(Player p)        { return hasFlag(p, "safe_zone"); }
+    public boolean isSafeZoneEnabled(Player p)        { return hasFlag(p, FlagRegistry.SAFE_ZONE); }
     public void    toggleSafeZone(Player p)           { toggleFlag(p, "safe_zone"); }
 
     /* -----------------------------------------------------
      *  HELPERS
      * ----------------------------------------------------- */
 
-    /** Master enable: true if safe_zone OR the flag itself is true. */
-    private boolean enabled(PlotStore.Plot plot, String flag) {
-        return plot.getFlag("safe_zone", false) || plot.getFlag(flag, true);
+    /**
+     * Protection active for events: (safe_zone OR the flag) AND the world rules allow it.
+     * Precomputed on the plot, so this is one AND.
+     */
+    private boolean enabled(PlotStore.Plot plot, int flag) {
+        return plot.isProtected(flag);
     }
 
     private boolean canBuild(Player p, PlotStore.Plot plot) {
-        if (p.hasPermission("aegis.admin")) return true; // unified admin perm
-        if (p.getUniqueId().equals(plot.getOwner())) return true;
-        return plot.getTrusted().contains(p.getUniqueId());
+        UUID id = p.getUniqueId();
+        if (admins.contains(id)) return true; // unified admin perm (cached)
+        if (id.equals(plot.getOwner())) return true;
+        return plot.isTrusted(id);
     }
 
-    private boolean hasFlag(Player p, String flag) {
+    private boolean hasFlag(Player p, int flag) {
         PlotStore.Plot plot = plugin.store().getPlotAt(p.getLocation());
-        return plot != null && enabled(plot, flag);
+        return plot != null && plot.hasAnyFlag(FlagRegistry.SAFE_ZONE | flag); // plot's own setting (GUI)
     }
 
     private Player resolveAttacker(Entity damager) {
@@ -274,25 +333,22 @@ public class ProtectionManager implements Listener {
         };
     }
 
-    private void playEffect(String category, String type, Player p, Location loc) {
-        if (!plugin.getConfig().getBoolean("protection_effects.enabled", true)) return;
-
-        String base = "protection_effects." + category + "." + type + "_";
-        String def  = "protection_effects." + type + "_";
-
-        String soundKey = plugin.getConfig().getString(base + "sound",
-                plugin.getConfig().getString(def + "sound", "BLOCK_NOTE_BLOCK_BASS"));
-        String particleKey = plugin.getConfig().getString(base + "particle",
-                plugin.getConfig().getString(def + "particle", "SMOKE_NORMAL"));
-
-        try {
-            Sound sound = Sound.valueOf(soundKey);
-            Particle particle = Particle.valueOf(particleKey);
-            p.playSound(loc, sound, 1f, 1f);
-            loc.getWorld().spawnParticle(particle, loc.clone().add(0.5, 1, 0.5),
-                    10, 0.3, 0.3, 0.3, 0.05);
-        } catch (IllegalArgumentException ignored) {
-            // invalid sound/particle fallback
-        }
+    /**
+     * Denial feedback (chat + effect), throttled per player and category: inside the cooldown
+     * nothing is sent; the next message after collapsed denials carries an "x<count>" suffix.
+     */
+    private void deny(Player p, Category category, String messageKey, Location loc) {
+        DenialThrottle t = throttle;
+        int shown = t.fire(p.getUniqueId(), category);
+        if (shown < 0) return;
+        Component msg = plugin.msg().component(p, messageKey);
+        p.sendMessage(shown > 1 && t.showCount()
+                ? msg.append(Component.text(" x" + shown, NamedTextColor.DARK_GRAY))
+                : msg);
+        playEffect(category, Outcome.DENY, p, loc);
+    }
+
+    private void playEffect(Category category, Outcome outcome, Player p, Location loc) {
+        effects.play(category, outcome, p, loc);
     }
 }
@@ -1,6 +1,7 @@
 package com.aegisguard.selection;
 
 import com.aegisguard.AegisGuard;
+import com.aegisguard.config.ClaimSettings;
 import com.aegisguard.data.PlotStore;
 import org.bukkit.Location;
 import org.bukkit.Material;
@@ -14,6 +15,7 @@ import org.bukkit.inventory.ItemStack;
 import org.bukkit.inventory.meta.ItemMeta;
 
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -22,7 +24,7 @@ import java.util.UUID;
  * - Handles Aegis Scepter interactions
  * - Selects corners and creates plots
  * - Integrates VaultHook & refund system
- * - Reads defaults from config.yml (global + per-world)
+ * - Reads claim rules from AGConfig's resolved per-world ClaimSettings
  * - Supports multi-plot & claim limits
  * - Safe Zone defaults to ON at creation
  */
@@ -74,12 +76,9 @@ public class SelectionService implements Listener {
      * ----------------------------- */
     public void confirmClaim(Player p) {
         UUID id = p.getUniqueId();
-        String worldName = p.getWorld().getName();
-
-        // --- Load per-world or global claim settings from Bukkit config directly ---
-        int maxClaims = plugin.getConfig().getInt("claims.per_world." + worldName + ".max_claims_per_player",
-                plugin.getConfig().getInt("claims.max_claims_per_player", 1));
+        ClaimSettings rules = plugin.cfg().claims(p.getWorld().getName());
 
+        int maxClaims = rules.maxClaims();
         int currentClaims = plugin.store().getPlots(id).size();
         if (currentClaims >= maxClaims && maxClaims > 0) {
             plugin.msg().send(p, "max_claims_reached", java.util.Map.of("AMOUNT", String.valueOf(maxClaims)));
@@ -93,25 +92,34 @@ public class SelectionService implements Listener {
             return;
         }
 
-        // --- Economy setup (per-world > global) ---
-        boolean useVault = plugin.getConfig().getBoolean("claims.per_world." + worldName + ".use_vault",
-                plugin.getConfig().getBoolean("use_vault", true));
-
-        double cost = plugin.getConfig().getDouble("claims.per_world." + worldName + ".vault_cost",
-                plugin.getConfig().getDouble("claim_cost", 0.0));
-
-        String itemType = plugin.getConfig().getString("claims.per_world." + worldName + ".item_cost.type",
-                plugin.getConfig().getString("item_cost.type", "DIAMOND"));
+        // --- Overlap check (before anything is charged) ---
+        Location c1 = corner1.get(id);
+        Location c2 = corner2.get(id);
+        if (c1.getWorld() == null || !c1.getWorld().equals(c2.getWorld())) {
+            plugin.msg().send(p, "must_select");
+            if (plugin.sounds() != null) plugin.sounds().playMenuClose(p);
+            return;
+        }
+        List<PlotStore.Plot> overlaps = plugin.store().findIntersecting(c1.getWorld().getName(),
+                c1.getBlockX(), c1.getBlockZ(), c2.getBlockX(), c2.getBlockZ());
+        if (!overlaps.isEmpty()) {
+            plugin.msg().send(p, "claim_overlap", java.util.Map.of("PLAYER", overlaps.get(0).getOwnerName()));
+            if (plugin.sounds() != null) plugin.sounds().playMenuClose(p);
+            return;
+        }
 
-        int itemAmount = plugin.getConfig().getInt("claims.per_world." + worldName + ".item_cost.amount",
-                plugin.getConfig().getInt("item_cost.amount", 0));
+        // --- Economy (per-world > global, resolved at load) ---
+        boolean useVault = rules.useVault();
+        double cost = rules.vaultCost();
+        String itemType = rules.itemName();
+        int itemAmount = rules.itemAmount();
 
         if (useVault && cost > 0 && !plugin.vault().charge(p, cost)) {
             plugin.msg().send(p, "need_vault", java.util.Map.of("AMOUNT", String.valueOf(cost)));
             if (plugin.sounds() != null) plugin.sounds().playMenuClose(p);
             return;
         } else if (!useVault && itemAmount > 0) {
-            Material mat = Material.matchMaterial(itemType);
+            Material mat = rules.itemType();
             if (mat != null) {
                 if (!p.getInventory().containsAtLeast(new ItemStack(mat), itemAmount)) {
                     plugin.msg().send(p, "need_items",
@@ -123,24 +131,37 @@ public class SelectionService implements Listener {
             }
         }
 
-        Location c1 = corner1.get(id);
-        Location c2 = corner2.get(id);
-
         // Save claim
-        plugin.store().createPlot(id, c1, c2);
+        PlotStore.Plot newPlot = plugin.store().createPlot(id, c1, c2);
+
+        // Rejected after payment (a concurrent claim got there first, or the limit was hit): pay back
+        if (newPlot == null) {
+            if (useVault && cost > 0) {
+                plugin.vault().give(p, cost);
+            } else if (!useVault && itemAmount > 0 && rules.itemType() != null) {
+                p.getInventory().addItem(new ItemStack(rules.itemType(), itemAmount))
+                        .values().forEach(left -> p.getWorld().dropItemNaturally(p.getLocation(), left));
+            }
+            List<PlotStore.Plot> clash = plugin.store().findIntersecting(c1.getWorld().getName(),
+                    c1.getBlockX(), c1.getBlockZ(), c2.getBlockX(), c2.getBlockZ());
+            if (!clash.isEmpty()) {
+                plugin.msg().send(p, "claim_overlap", java.util.Map.of("PLAYER", clash.get(0).getOwnerName()));
+            } else {
+                plugin.msg().send(p, "max_claims_reached", java.util.Map.of("AMOUNT", String.valueOf(rules.maxClaims())));
+            }
+            if (plugin.sounds() != null) plugin.sounds().playMenuClose(p);
+            return;
+        }
 
         // Force Safe Zone ON on creation (in case storage defaults didn’t set it yet)
-        PlotStore.Plot newPlot = plugin.store().getPlotAt(c1);
-        if (newPlot != null) {
-            newPlot.setFlag("safe_zone", true);
-            newPlot.setFlag("pvp", true);
-            newPlot.setFlag("mobs", true);
-            newPlot.setFlag("containers", true);
-            newPlot.setFlag("entities", true);
-            newPlot.setFlag("pets", true);
-            newPlot.setFlag("farm", true);
-            plugin.store().flushSync();
-        }
+        PlotStore store = plugin.store();
+        store.setFlag(newPlot, "safe_zone", true);
+        store.setFlag(newPlot, "pvp", true);
+        store.setFlag(newPlot, "mobs", true);
+        store.setFlag(newPlot, "containers", true);
+        store.setFlag(newPlot, "entities", true);
+        store.setFlag(newPlot, "pets", true);
+        store.setFlag(newPlot, "farm", true);
 
         plugin.msg().send(p, "plot_created");
         plugin.msg().send(p, "safe_zone_enabled"); // tell the player explicitly
@@ -155,7 +176,7 @@ public class SelectionService implements Listener {
         if (plugin.sounds() != null) plugin.sounds().playClaimMagic(p);
 
         if (plugin.getConfig().getBoolean("effects.on_claim.lightning_visual", true)) {
-            p.getWorld().strikeLightningEffect(c1);
+            plugin.scheduler().runAt(c1, () -> c1.getWorld().strikeLightningEffect(c1)); // c1 may be in another region
         }
     }
 
@@ -172,35 +193,21 @@ public class SelectionService implements Listener {
             return;
         }
 
-        String worldName = p.getWorld().getName();
-
-        // Refund system (per-world > global)
-        boolean refundEnabled = plugin.getConfig().getBoolean("claims.per_world." + worldName + ".refund_on_unclaim",
-                plugin.getConfig().getBoolean("refund_on_unclaim", false));
-
-        int refundPercent = plugin.getConfig().getInt("claims.per_world." + worldName + ".refund_percent",
-                plugin.getConfig().getInt("refund_percent", 0));
-
-        boolean useVault = plugin.getConfig().getBoolean("claims.per_world." + worldName + ".use_vault",
-                plugin.getConfig().getBoolean("use_vault", true));
-
-        double vaultCost = plugin.getConfig().getDouble("claims.per_world." + worldName + ".vault_cost",
-                plugin.getConfig().getDouble("claim_cost", 0.0));
-
-        String itemType = plugin.getConfig().getString("claims.per_world." + worldName + ".item_cost.type",
-                plugin.getConfig().getString("item_cost.type", "DIAMOND"));
-
-        int itemAmount = plugin.getConfig().getInt("claims.per_world." + worldName + ".item_cost.amount",
-                plugin.getConfig().getInt("item_cost.amount", 0));
+        // Refund system (per-world > global, resolved at load)
+        ClaimSettings rules = plugin.cfg().claims(p.getWorld().getName());
+        int refundPercent = rules.refundPercent();
+        double vaultCost = rules.vaultCost();
+        String itemType = rules.itemName();
+        int itemAmount = rules.itemAmount();
 
-        if (refundEnabled && refundPercent > 0) {
-            if (useVault && vaultCost > 0) {
+        if (rules.refundOnUnclaim() && refundPercent > 0) {
+            if (rules.useVault() && vaultCost > 0) {
                 double refundAmount = (vaultCost * refundPercent) / 100.0;
                 plugin.vault().give(p, refundAmount);
                 plugin.msg().send(p, "vault_refund",
                         java.util.Map.of("AMOUNT", String.valueOf(refundAmount), "PERCENT", String.valueOf(refundPercent)));
             } else {
-                Material mat = Material.matchMaterial(itemType);
+                Material mat = rules.itemType();
                 if (mat != null && itemAmount > 0) {
                     int refundCount = (int) Math.floor((itemAmount * refundPercent) / 100.0);
                     if (refundCount > 0) {
@@ -0,0 +1,166 @@
+package com.aegisguard.util;
+
+import net.kyori.adventure.text.Component;
+import net.kyori.adventure.text.TextComponent;
+import net.kyori.adventure.text.serializer.legacy.LegacyComponentSerializer;
+import org.bukkit.ChatColor;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * MessageTemplate
+ * - One messages.yml entry compiled once: pre-colored literal segments + placeholder slots
+ * - Placeholders: {KEY} or %KEY% (letters, digits, underscore)
+ * - Rendering is a single StringBuilder pass; placeholder values are inserted as-is (not colored)
+ * - Placeholders without a value are left in the output unchanged
+ * - Component form (Adventure) is compiled alongside: literal components carry the legacy
+ *   colors in effect at their position, and each slot knows the colors its value inherits
+ */
+public final class MessageTemplate {
+
+    private final String[] literals; // slots.length + 1 segments, already colored
+    private final String[] slots;    // placeholder names
+    private final String[] tokens;   // original placeholder text ({KEY} / %KEY%), used when no value is given
+    private final String constant;   // whole message when there are no slots
+
+    private final Component[] parts;        // literals as components (colors carried across slots)
+    private final String[] slotColors;      // legacy codes active at each slot, applied to its value
+    private final Component constantComponent;
+
+    private static final LegacyComponentSerializer LEGACY = LegacyComponentSerializer.legacySection();
+
+    private MessageTemplate(String[] literals, String[] slots, String[] tokens) {
+        this.literals = literals;
+        this.slots = slots;
+        this.tokens = tokens;
+        this.constant = slots.length == 0 ? literals[0] : null;
+
+        this.parts = new Component[literals.length];
+        this.slotColors = new String[slots.length];
+        StringBuilder seen = new StringBuilder();
+        for (int i = 0; i < literals.length; i++) {
+            String carried = ChatColor.getLastColors(seen.toString());
+            parts[i] = LEGACY.deserialize(carried + literals[i]);
+            seen.append(literals[i]);
+            if (i < slots.length) slotColors[i] = ChatColor.getLastColors(seen.toString());
+        }
+        this.constantComponent = slots.length == 0 ? parts[0] : null;
+    }
+
+    /* -----------------------------
+     * Compile
+     * ----------------------------- */
+    public static MessageTemplate compile(String raw) {
+        if (raw == null) raw = "";
+        List<String> literals = new ArrayList<>();
+        List<String> slots = new ArrayList<>();
+        List<String> tokens = new ArrayList<>();
+
+        StringBuilder lit = new StringBuilder();
+        int i = 0;
+        while (i < raw.length()) {
+            char c = raw.charAt(i);
+            if (c == '{' || c == '%') {
+                int end = raw.indexOf(c == '{' ? '}' : '%', i + 1);
+                if (end > i + 1 && isName(raw, i + 1, end)) {
+                    literals.add(color(lit.toString()));
+                    lit.setLength(0);
+                    slots.add(raw.substring(i + 1, end));
+                    tokens.add(raw.substring(i, end + 1));
+                    i = end + 1;
+                    continue;
+                }
+            }
+            lit.append(c);
+            i++;
+        }
+        literals.add(color(lit.toString()));
+        return new MessageTemplate(literals.toArray(new String[0]), slots.toArray(new String[0]),
+                tokens.toArray(new String[0]));
+    }
+
+    private static boolean isName(String s, int from, int to) {
+        for (int i = from; i < to; i++) {
+            char c = s.charAt(i);
+            if (!(Character.isLetterOrDigit(c) || c == '_')) return false;
+        }
+        return true;
+    }
+
+    private static String color(String s) {
+        return ChatColor.translateAlternateColorCodes('&', s);
+    }
+
+    /* -----------------------------
+     * Render
+     * ----------------------------- */
+    /** True if the message has no placeholders (render() / component() return cached values). */
+    public boolean isConstant() { return constant != null; }
+
+    public String render() {
+        return constant != null ? constant : render((Map<String, String>) null);
+    }
+
+    public String render(Map<String, String> values) {
+        if (constant != null) return constant;
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            String v = values == null ? null : values.get(slots[i]);
+            sb.append(v != null ? v : tokens[i]);
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+
+    /** Varargs form: "KEY", "VAL", "KEY2", "VAL2", ... */
+    public String render(String... kv) {
+        if (constant != null) return constant;
+        StringBuilder sb = new StringBuilder(64);
+        for (int i = 0; i < slots.length; i++) {
+            sb.append(literals[i]);
+            String v = lookup(kv, slots[i]);
+            sb.append(v != null ? v : tokens[i]);
+        }
+        return sb.append(literals[slots.length]).toString();
+    }
+
+    /* -----------------------------
+     * Render (Adventure)
+     * ----------------------------- */
+    public Component component() {
+        return constantComponent != null ? constantComponent : component((Map<String, String>) null);
+    }
+
+    public Component component(Map<String, String> values) {
+        if (constantComponent != null) return constantComponent;
+        TextComponent.Builder b = Component.text();
+        for (int i = 0; i < slots.length; i++) {
+            b.append(parts[i]);
+            String v = values == null ? null : values.get(slots[i]);
+            b.append(LEGACY.deserialize(slotColors[i] + (v != null ? v : tokens[i])));
+        }
+        return b.append(parts[slots.length]).build();
+    }
+
+    /** Varargs form: "KEY", "VAL", "KEY2", "VAL2", ... */
+    public Component component(String... kv) {
+        if (constantComponent != null) return constantComponent;
+        TextComponent.Builder b = Component.text();
+        for (int i = 0; i < slots.length; i++) {
+            b.append(parts[i]);
+            String v = lookup(kv, slots[i]);
+            b.append(LEGACY.deserialize(slotColors[i] + (v != null ? v : tokens[i])));
+        }
+        return b.append(parts[slots.length]).build();
+    }
+
+    private static String lookup(String[] kv, String key) {
+        if (kv == null) return null;
+        for (int i = 0; i + 1 < kv.length; i += 2) {
+            if (key.equals(kv[i])) return kv[i + 1] == null ? "" : kv[i + 1];
+        }
+        return null;
+    }
+}
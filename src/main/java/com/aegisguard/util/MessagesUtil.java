@@ -1,6 +1,8 @@
 package com.aegisguard.util;
 
 import com.aegisguard.AegisGuard;
+import com.aegisguard.gui.SettingsGUI;
+import net.kyori.adventure.text.Component;
 import org.bukkit.ChatColor;
 import org.bukkit.command.CommandSender;
 import org.bukkit.configuration.ConfigurationSection;
@@ -10,31 +12,50 @@ import org.bukkit.entity.Player;
 import org.bukkit.event.Listener;
 import org.bukkit.event.EventHandler;
 import org.bukkit.event.player.PlayerJoinEvent;
+import org.bukkit.event.player.PlayerQuitEvent;
 
 import java.io.File;
-import java.io.IOException;
 import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * MessagesUtil (AegisGuard v1.0)
  * - Loads messages.yml (multi-tone English)
  * - Per-player style prefs: old_english (default), hybrid_english, modern_english
- * - Persists to playerdata.yml
+ * - Prefs kept only for online players: loaded off-thread on join, dropped on quit,
+ *   persisted per player through PlayerPrefsStore (playerdata/<uuid>.yml, batched writes)
+ * - Compiled on reload() into a style -> key -> MessageTemplate table (pre-colored, placeholder
+ *   slots); keys a style lacks fall back to the default style, then to shared top-level texts,
+ *   at load time. Sending never touches the YAML tree.
+ * - Keys the code asks for but messages.yml lacks entirely are only detected on first use:
+ *   logged once, then served from a cached "[Missing: key]" template until the next reload.
+ * - send() uses Adventure components: static messages are cached per style with the prefix
+ *   already attached (one map lookup per send); placeholder messages render from the template.
+ *   Caches are rebuilt only by reload().
  */
 public class MessagesUtil implements Listener {
 
     private final AegisGuard plugin;
     private FileConfiguration messages;
-    private final Map<UUID, String> playerStyles = new HashMap<>();
-    private String defaultStyle;
+    private final Map<UUID, String> playerStyles = new ConcurrentHashMap<>();
+    private volatile String defaultStyle;
 
-    private File playerDataFile;
-    private FileConfiguration playerData;
+    // Compiled tables, replaced wholesale on reload: style -> key -> template / colored list
+    private volatile Map<String, Map<String, MessageTemplate>> templates = Map.of();
+    private volatile Map<String, Map<String, List<String>>> lists = Map.of();
+    private volatile List<String> availableStyles = List.of();
+    private volatile String prefix = "";
+    private volatile Component prefixComponent = Component.empty();
+    private volatile Map<String, Map<String, Component>> prefixed = Map.of(); // style -> key -> prefix + static message
+    private final Map<String, MessageTemplate> missing = new ConcurrentHashMap<>(); // key -> placeholder, logged once
+
+    private final PlayerPrefsStore prefs;
 
     public MessagesUtil(AegisGuard plugin) {
         this.plugin = plugin;
         reload();
-        loadPlayerPreferences();
+        this.prefs = new PlayerPrefsStore(plugin);
+        for (Player online : plugin.getServer().getOnlinePlayers()) loadStyle(online); // /reload
         plugin.getServer().getPluginManager().registerEvents(this, plugin);
     }
 
@@ -45,70 +66,144 @@ public class MessagesUtil implements Listener {
         File file = new File(plugin.getDataFolder(), "messages.yml");
         if (!file.exists()) plugin.saveResource("messages.yml", false);
         this.messages = YamlConfiguration.loadConfiguration(file);
-        this.defaultStyle = messages.getString("language_styles.default", "old_english");
+        compile();
         plugin.getLogger().info("[AegisGuard] Messages loaded. Default style: " + defaultStyle);
     }
 
+    /** Builds the style -> key tables; reports keys a style is missing once, here. */
+    private void compile() {
+        String def = messages.getString("language_styles.default", "old_english");
+        List<String> available = new ArrayList<>(messages.getStringList("language_styles.available"));
+        if (!available.contains(def)) available.add(def);
+        if (!messages.isConfigurationSection(def)) {
+            plugin.getLogger().warning("[AegisGuard] Default language style '" + def + "' has no section in messages.yml.");
+        }
+
+        // Shared top-level texts (outside any style) are the last fallback
+        Map<String, MessageTemplate> sharedT = new HashMap<>();
+        Map<String, List<String>> sharedL = new HashMap<>();
+        for (String key : messages.getKeys(false)) {
+            if (key.equals("language_styles") || available.contains(key)) continue;
+            collect(messages, key, sharedT, sharedL);
+        }
+
+        Map<String, MessageTemplate> defT = new HashMap<>(sharedT);
+        Map<String, List<String>> defL = new HashMap<>(sharedL);
+        collectStyle(def, defT, defL);
+
+        Map<String, Map<String, MessageTemplate>> t = new HashMap<>();
+        Map<String, Map<String, List<String>>> l = new HashMap<>();
+        for (String style : available) {
+            Map<String, MessageTemplate> st = new HashMap<>(defT);
+            Map<String, List<String>> sl = new HashMap<>(defL);
+            if (!style.equals(def)) {
+                Set<String> own = collectStyle(style, st, sl);
+                List<String> absentKeys = new ArrayList<>();
+                ConfigurationSection defSec = messages.getConfigurationSection(def);
+                if (defSec != null) {
+                    for (String key : defSec.getKeys(false)) if (!own.contains(key)) absentKeys.add(key);
+                }
+                if (!absentKeys.isEmpty()) {
+                    plugin.getLogger().warning("[AegisGuard] Language style '" + style + "' is missing "
+                            + absentKeys.size() + " message(s), using " + def + ": " + String.join(", ", absentKeys));
+                }
+            }
+            t.put(style, Map.copyOf(st));
+            l.put(style, Map.copyOf(sl));
+        }
+
+        MessageTemplate pre = MessageTemplate.compile(messages.getString("prefix", "&8[&bAegisGuard&8]&r "));
+        Map<String, Map<String, Component>> pc = new HashMap<>();
+        for (Map.Entry<String, Map<String, MessageTemplate>> style : t.entrySet()) {
+            Map<String, Component> byKey = new HashMap<>();
+            for (Map.Entry<String, MessageTemplate> m : style.getValue().entrySet()) {
+                if (m.getValue().isConstant()) {
+                    byKey.put(m.getKey(), Component.textOfChildren(pre.component(), m.getValue().component()));
+                }
+            }
+            pc.put(style.getKey(), Map.copyOf(byKey));
+        }
+
+        this.prefix = pre.render();
+        this.prefixComponent = pre.component();
+        this.prefixed = Map.copyOf(pc);
+        this.availableStyles = List.copyOf(available);
+        this.templates = Map.copyOf(t);
+        this.lists = Map.copyOf(l);
+        this.defaultStyle = def;
+        missing.clear();
+    }
+
+    /** Adds a style section's entries (overriding fallbacks); returns the keys it defines. */
+    private Set<String> collectStyle(String style, Map<String, MessageTemplate> t, Map<String, List<String>> l) {
+        ConfigurationSection sec = messages.getConfigurationSection(style);
+        if (sec == null) return Set.of();
+        Set<String> keys = sec.getKeys(false);
+        for (String key : keys) collect(sec, key, t, l);
+        return keys;
+    }
+
+    private void collect(ConfigurationSection sec, String key, Map<String, MessageTemplate> t, Map<String, List<String>> l) {
+        if (sec.isList(key)) {
+            List<String> colored = new ArrayList<>();
+            for (String line : sec.getStringList(key)) colored.add(format(line));
+            l.put(key, List.copyOf(colored));
+        } else if (sec.isString(key)) {
+            t.put(key, MessageTemplate.compile(sec.getString(key)));
+        }
+    }
+
     /* -----------------------------
      * Accessors (Player-aware)
      * ----------------------------- */
     /** Get message for specific player style */
     public String get(Player player, String key) {
-        String raw = getRawForPlayer(player, key);
-        return format(raw);
+        return template(styleOf(player), key).render();
     }
 
     /** Get message for player with placeholders (varargs: "KEY","VAL","KEY2","VAL2",...) */
     public String get(Player player, String key, String... kv) {
-        String raw = getRawForPlayer(player, key);
-        raw = applyPlaceholders(raw, kv);
-        return format(raw);
+        return template(styleOf(player), key).render(kv);
     }
 
-    /** Get list (GUI lore) for player style */
+    /** Get list (GUI lore) for player style (pre-colored, read-only) */
     public List<String> getList(Player player, String key) {
-        String style = playerStyles.getOrDefault(player.getUniqueId(), defaultStyle);
-        String path = style + "." + key;
-        List<String> list = messages.getStringList(path);
-        if (list.isEmpty()) list = messages.getStringList(defaultStyle + "." + key);
-        if (list == null) list = Collections.emptyList();
-        List<String> colored = new ArrayList<>(list.size());
-        for (String line : list) colored.add(format(line));
-        return colored;
+        return list(styleOf(player), key);
     }
 
     /* -----------------------------
      * Accessors (default style)
      * ----------------------------- */
     public String get(String key) {
-        String raw = messages.getString(defaultStyle + "." + key, "&c[Missing: " + key + "]");
-        return format(raw);
+        return template(defaultStyle, key).render();
     }
 
     public String get(String key, String... kv) {
-        String raw = messages.getString(defaultStyle + "." + key, "&c[Missing: " + key + "]");
-        raw = applyPlaceholders(raw, kv);
-        return format(raw);
+        return template(defaultStyle, key).render(kv);
     }
 
     public String get(String key, Map<String, String> placeholders) {
-        String raw = messages.getString(defaultStyle + "." + key, "&c[Missing: " + key + "]");
-        raw = applyPlaceholders(raw, placeholders);
-        return format(raw);
+        return template(defaultStyle, key).render(placeholders);
     }
 
     /** Non-player list accessor (default style) */
     public List<String> getList(String key) {
-        List<String> list = messages.getStringList(defaultStyle + "." + key);
-        if (list == null) list = Collections.emptyList();
-        List<String> colored = new ArrayList<>(list.size());
-        for (String line : list) colored.add(format(line));
-        return colored;
+        return list(defaultStyle, key);
     }
 
     /** Does the styled message exist? */
     public boolean has(String key) {
-        return messages.contains(defaultStyle + "." + key);
+        Map<String, MessageTemplate> t = templates.get(defaultStyle);
+        return t != null && t.containsKey(key);
+    }
+
+    /** Message as a component (player style, no prefix); static messages are cached. */
+    public Component component(Player player, String key) {
+        return template(styleOf(player), key).component();
+    }
+
+    public Component component(Player player, String key, Map<String, String> placeholders) {
+        return template(styleOf(player), key).component(placeholders);
     }
 
     /** Colorize a string with & codes */
@@ -118,127 +213,107 @@ public class MessagesUtil implements Listener {
 
     /** Prefix (top-level, not style-scoped) */
     public String prefix() {
-        return format(messages.getString("prefix", "&8[&bAegisGuard&8]&r "));
+        return prefix;
     }
 
     /* -----------------------------
      * Senders
      * ----------------------------- */
     public void send(CommandSender sender, String key) {
-        String msg = (sender instanceof Player p) ? get(p, key) : get(key);
-        sender.sendMessage(prefix() + msg);
+        String style = (sender instanceof Player p) ? styleOf(p) : defaultStyle;
+        Map<String, Component> cached = prefixed.get(style);
+        Component msg = cached == null ? null : cached.get(key);
+        sender.sendMessage(msg != null ? msg : Component.textOfChildren(prefixComponent, template(style, key).component()));
     }
 
     public void send(CommandSender sender, String key, Map<String, String> placeholders) {
-        String msg = (sender instanceof Player p) ? get(p, key) : get(key);
-        msg = applyPlaceholders(msg, placeholders); // msg is already colored; placeholders are plain
-        sender.sendMessage(prefix() + msg);
+        String style = (sender instanceof Player p) ? styleOf(p) : defaultStyle;
+        sender.sendMessage(Component.textOfChildren(prefixComponent, template(style, key).component(placeholders)));
     }
 
     public void send(CommandSender sender, String key, String... kv) {
-        String msg = (sender instanceof Player p) ? get(p, key, kv) : get(key, kv);
-        sender.sendMessage(prefix() + msg);
+        String style = (sender instanceof Player p) ? styleOf(p) : defaultStyle;
+        sender.sendMessage(Component.textOfChildren(prefixComponent, template(style, key).component(kv)));
     }
 
     /* -----------------------------
      * Player Style System
      * ----------------------------- */
     public void setPlayerStyle(Player player, String style) {
-        List<String> valid = messages.getStringList("language_styles.available");
-        if (valid == null || !valid.contains(style)) {
+        if (!availableStyles.contains(style)) {
             player.sendMessage(ChatColor.RED + "⚠ Invalid language style: " + style);
             return;
         }
         playerStyles.put(player.getUniqueId(), style);
-        savePlayerPreference(player, style);
+        prefs.save(player.getUniqueId(), style);
         player.sendMessage(ChatColor.GOLD + "🕮 Your speech style is now: "
                 + ChatColor.AQUA + style.replace("_", " "));
         // Live GUI refresh (optional)
-        if (player.getOpenInventory() != null &&
-            player.getOpenInventory().getTitle() != null &&
-            player.getOpenInventory().getTitle().toLowerCase().contains("aegisguard")) {
+        if (player.getOpenInventory().getTopInventory().getHolder(false) instanceof SettingsGUI.SettingsHolder) {
             plugin.gui().settings().open(player);
         }
     }
 
     public String getPlayerStyle(Player player) {
-        return playerStyles.getOrDefault(player.getUniqueId(), defaultStyle);
+        return styleOf(player);
     }
 
     /* -----------------------------
      * Player Preferences
      * ----------------------------- */
-    public void loadPlayerPreferences() {
-        playerDataFile = new File(plugin.getDataFolder(), "playerdata.yml");
-        if (!playerDataFile.exists()) {
-            try { playerDataFile.createNewFile(); } catch (IOException e) { e.printStackTrace(); }
-        }
-        playerData = YamlConfiguration.loadConfiguration(playerDataFile);
-
-        ConfigurationSection section = playerData.getConfigurationSection("players");
-        if (section == null) return;
-
-        for (String uuidStr : section.getKeys(false)) {
-            try {
-                UUID uuid = UUID.fromString(uuidStr);
-                String style = section.getString(uuidStr + ".language_style", defaultStyle);
-                playerStyles.put(uuid, style);
-            } catch (IllegalArgumentException ignored) {}
-        }
-        plugin.getLogger().info("[AegisGuard] Loaded " + playerStyles.size() + " player language preferences.");
+    private void loadStyle(Player player) {
+        UUID id = player.getUniqueId();
+        prefs.load(id, style -> {
+            if (style == null) return;
+            playerStyles.putIfAbsent(id, style); // a style picked while loading wins
+            if (!player.isOnline()) playerStyles.remove(id); // quit before the load finished
+        });
     }
 
-    private void savePlayerPreference(Player player, String style) {
-        if (playerDataFile == null) {
-            playerDataFile = new File(plugin.getDataFolder(), "playerdata.yml");
-            playerData = YamlConfiguration.loadConfiguration(playerDataFile);
-        }
-        playerData.set("players." + player.getUniqueId() + ".language_style", style);
-        try { playerData.save(playerDataFile); } catch (IOException e) { e.printStackTrace(); }
+    /** Writes pending preferences and stops the IO thread (plugin disable). */
+    public void close() {
+        prefs.close();
     }
 
     /* -----------------------------
-     * Auto-load on join
+     * Join / quit
      * ----------------------------- */
     @EventHandler
     public void onJoin(PlayerJoinEvent e) {
-        Player player = e.getPlayer();
-        playerStyles.putIfAbsent(player.getUniqueId(), defaultStyle);
+        loadStyle(e.getPlayer());
+    }
+
+    @EventHandler
+    public void onQuit(PlayerQuitEvent e) {
+        playerStyles.remove(e.getPlayer().getUniqueId());
     }
 
     /* -----------------------------
      * Internal helpers
      * ----------------------------- */
-    private String getRawForPlayer(Player player, String key) {
-        String style = playerStyles.getOrDefault(player.getUniqueId(), defaultStyle);
-        String path = style + "." + key;
-        if (!messages.contains(path)) path = defaultStyle + "." + key;
-        return messages.getString(path, "&c[Missing: " + key + "]");
+    private String styleOf(Player player) {
+        return playerStyles.getOrDefault(player.getUniqueId(), defaultStyle);
     }
 
-    private String format(String msg) {
-        return ChatColor.translateAlternateColorCodes('&', msg == null ? "" : msg);
+    private MessageTemplate template(String style, String key) {
+        Map<String, MessageTemplate> t = templates.get(style);
+        if (t == null) t = templates.get(defaultStyle);
+        MessageTemplate m = t == null ? null : t.get(key);
+        if (m != null) return m;
+        return missing.computeIfAbsent(key, k -> {
+            plugin.getLogger().warning("[AegisGuard] Missing message key: " + k);
+            return MessageTemplate.compile("&c[Missing: " + k + "]");
+        });
     }
 
-    private String applyPlaceholders(String msg, String... kv) {
-        if (msg == null || kv == null || kv.length == 0) return msg;
-        for (int i = 0; i + 1 < kv.length; i += 2) {
-            String k = kv[i] == null ? "" : kv[i];
-            String v = kv[i + 1] == null ? "" : kv[i + 1];
-            msg = msg.replace("{" + k + "}", v);
-            msg = msg.replace("%" + k + "%", v); // support %KEY% too
-        }
-        return msg;
+    private List<String> list(String style, String key) {
+        Map<String, List<String>> l = lists.get(style);
+        if (l == null) l = lists.get(defaultStyle);
+        List<String> v = l == null ? null : l.get(key);
+        return v != null ? v : Collections.emptyList();
     }
 
-    private String applyPlaceholders(String msg, Map<String, String> map) {
-        if (msg == null || map == null || map.isEmpty()) return msg;
-        for (Map.Entry<String, String> e : map.entrySet()) {
-            String k = e.getKey();
-            String v = e.getValue() == null ? "" : e.getValue();
-            msg = msg.replace("{" + k + "}", v);
-            msg = msg.replace("%" + k + "%", v);
-        }
-        return msg;
+    private String format(String msg) {
+        return ChatColor.translateAlternateColorCodes('&', msg == null ? "" : msg);
     }
 }
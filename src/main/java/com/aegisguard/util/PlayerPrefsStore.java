@@ -0,0 +1,148 @@
+package com.aegisguard.util;
+
+import com.aegisguard.AegisGuard;
+import org.bukkit.configuration.ConfigurationSection;
+import org.bukkit.configuration.InvalidConfigurationException;
+import org.bukkit.configuration.file.YamlConfiguration;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+import java.util.logging.Level;
+
+/**
+ * PlayerPrefsStore
+ * - One small file per player: playerdata/<uuid>.yml (language_style)
+ * - load() reads a single player's file on the IO thread (called on join; nothing preloaded)
+ * - save() only marks the value pending; pending values are written in one batch after
+ *   storage.save_delay_ticks, so repeated changes collapse into one write per player
+ * - Legacy playerdata.yml is split into per-player files once, then renamed to playerdata.yml.migrated
+ * - All file IO runs on a single background thread, in submission order; close() flushes and waits
+ */
+final class PlayerPrefsStore {
+
+    private final AegisGuard plugin;
+    private final File dir;
+    private final Map<UUID, String> pending = new ConcurrentHashMap<>();
+    private final AtomicBoolean scheduled = new AtomicBoolean(false);
+    private final ExecutorService io = Executors.newSingleThreadExecutor(r -> {
+        Thread t = new Thread(r, "AegisGuard-PlayerIO");
+        t.setDaemon(true);
+        return t;
+    });
+
+    PlayerPrefsStore(AegisGuard plugin) {
+        this.plugin = plugin;
+        this.dir = new File(plugin.getDataFolder(), "playerdata");
+        io.execute(this::migrateLegacy); // queued first, so every load sees migrated files
+    }
+
+    /* -----------------------------
+     * API
+     * ----------------------------- */
+    /** Reads the player's style off-thread; callback gets null if none is stored. */
+    void load(UUID player, Consumer<String> callback) {
+        io.execute(() -> {
+            String style = pending.get(player);
+            callback.accept(style != null ? style : read(player));
+        });
+    }
+
+    /** Queues a write; repeated calls before the batch runs keep only the latest value. */
+    void save(UUID player, String style) {
+        pending.put(player, style);
+        if (!plugin.isEnabled()) return; // disabling: close() flushes synchronously
+        if (!scheduled.compareAndSet(false, true)) return;
+        long delay = Math.max(1L, plugin.getConfig().getLong("storage.save_delay_ticks", 40L));
+        plugin.scheduler().runAsyncLater(() -> {
+            if (!io.isShutdown()) io.execute(this::flush); // after close() the final flush already ran
+        }, delay);
+    }
+
+    /** Writes everything pending and stops the IO thread (used on disable). */
+    void close() {
+        io.execute(this::flush);
+        io.shutdown();
+        try {
+            if (!io.awaitTermination(10, TimeUnit.SECONDS)) {
+                plugin.getLogger().warning("[AegisGuard] Player data IO thread did not finish in time.");
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /* -----------------------------
+     * IO thread
+     * ----------------------------- */
+    private void flush() {
+        scheduled.set(false);
+        for (UUID player : pending.keySet()) {
+            String style = pending.get(player);
+            if (style == null) continue;
+            write(player, style);
+            pending.remove(player, style); // a newer value queued meanwhile stays for the next batch
+        }
+    }
+
+    private String read(UUID player) {
+        File file = fileOf(player);
+        if (!file.exists()) return null;
+        YamlConfiguration yaml = new YamlConfiguration();
+        try {
+            yaml.load(file);
+        } catch (IOException | InvalidConfigurationException ex) {
+            plugin.getLogger().log(Level.WARNING, "[AegisGuard] Failed to read " + file.getName(), ex);
+            return null;
+        }
+        return yaml.getString("language_style");
+    }
+
+    private void write(UUID player, String style) {
+        YamlConfiguration yaml = new YamlConfiguration();
+        yaml.set("language_style", style);
+        try {
+            AtomicFiles.write(fileOf(player).toPath(), yaml.saveToString().getBytes(StandardCharsets.UTF_8));
+        } catch (IOException ex) {
+            plugin.getLogger().log(Level.SEVERE, "[AegisGuard] Failed to save player data for " + player, ex);
+        }
+    }
+
+    private void migrateLegacy() {
+        File legacy = new File(plugin.getDataFolder(), "playerdata.yml");
+        if (!legacy.isFile()) return;
+
+        ConfigurationSection section = YamlConfiguration.loadConfiguration(legacy).getConfigurationSection("players");
+        int migrated = 0;
+        if (section != null) {
+            for (String uuidStr : section.getKeys(false)) {
+                String style = section.getString(uuidStr + ".language_style");
+                if (style == null) continue;
+                try {
+                    UUID uuid = UUID.fromString(uuidStr);
+                    if (fileOf(uuid).exists()) continue; // per-player file is newer
+                    write(uuid, style);
+                    migrated++;
+                } catch (IllegalArgumentException ignored) {}
+            }
+        }
+
+        File done = new File(plugin.getDataFolder(), "playerdata.yml.migrated");
+        if (!legacy.renameTo(done)) {
+            plugin.getLogger().warning("[AegisGuard] Could not rename playerdata.yml; it will be migrated again next start.");
+        }
+        plugin.getLogger().info("[AegisGuard] Migrated " + migrated + " player language preferences to playerdata/.");
+    }
+
+    private File fileOf(UUID player) {
+        return new File(dir, player + ".yml");
+    }
+}
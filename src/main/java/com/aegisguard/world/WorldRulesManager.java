@@ -1,6 +1,7 @@
 package com.aegisguard.world;
 
 import com.aegisguard.AegisGuard;
+import com.aegisguard.data.FlagRegistry;
 import org.bukkit.World;
 import org.bukkit.configuration.ConfigurationSection;
 
@@ -16,36 +17,50 @@ import java.util.Map;
  *   - PvP toggle
  *   - Mob spawning
  *   - Claiming availability
- *   - Container, pet, farm protection defaults
+ *   - Container, pet, entity, farm protection defaults
+ *
+ * Protections resolve to a FlagRegistry mask per world. Worlds without their
+ * own entry (or keys) fall back to the global "protections" section. The masks
+ * are pushed into PlotStore on load, where they are folded into each plot's
+ * effective-protection mask.
  *
  * Config format example:
  *
+ * protections:                  # global defaults
+ *   pvp_protection: true
+ *   container_protection: true
+ *
  * claims:
  *   per_world:
  *     world:
  *       allow_claims: true
  *       protections:
- *         pvp: false
- *         mobs: false
- *         containers: true
- *         pets: true
- *         farms: true
+ *         pvp_protection: false
+ *         no_mobs_in_claims: false
+ *         container_protection: true
+ *         pets_protection: true
+ *         entities_protection: true
+ *         farm_protection: true
  *     world_nether:
  *       allow_claims: false
  *       protections:
- *         pvp: true
- *         mobs: true
+ *         pvp_protection: false
+ *         no_mobs_in_claims: false
  *     world_the_end:
  *       allow_claims: false
  *       protections:
- *         pvp: false
- *         mobs: true
+ *         pvp_protection: true
+ *         no_mobs_in_claims: true
+ *
+ * The short keys (pvp, mobs, containers, pets, entities, farms) are still accepted.
  * ==============================================================
  */
 public class WorldRulesManager {
 
     private final AegisGuard plugin;
-    private final Map<String, WorldRuleSet> rules = new HashMap<>();
+    // Rebuilt by load() and published whole: read from any region / async thread (PlotStore.newWorld)
+    private volatile Map<String, WorldRuleSet> rules = Map.of();
+    private volatile WorldRuleSet defaults = WorldRuleSet.defaultRules();
 
     public WorldRulesManager(AegisGuard plugin) {
         this.plugin = plugin;
@@ -64,10 +79,17 @@ public class WorldRulesManager {
      * Load world-specific rules
      * ----------------------------- */
     public void load() {
-        rules.clear();
+        Map<String, WorldRuleSet> loaded = new HashMap<>();
+        ConfigurationSection global = plugin.getConfig().getConfigurationSection("protections");
+        defaults = (global == null)
+                ? WorldRuleSet.defaultRules()
+                : new WorldRuleSet(true, readProtections(global, FlagRegistry.ALL));
+
         ConfigurationSection section = plugin.getConfig().getConfigurationSection("claims.per_world");
         if (section == null) {
             plugin.getLogger().warning("[AegisGuard] No per-world configuration found. Using defaults.");
+            rules = Map.of();
+            pushToStore();
             return;
         }
 
@@ -81,16 +103,9 @@ public class WorldRulesManager {
             ConfigurationSection prot = worldSec.getConfigurationSection("protections");
             if (prot == null) prot = worldSec;
 
-            WorldRuleSet set = new WorldRuleSet(
-                    allowClaims,
-                    prot.getBoolean("pvp", false),
-                    prot.getBoolean("mobs", false),
-                    prot.getBoolean("containers", true),
-                    prot.getBoolean("pets", true),
-                    prot.getBoolean("farms", true)
-            );
+            WorldRuleSet set = new WorldRuleSet(allowClaims, readProtections(prot, defaults.protections));
 
-            rules.put(worldName, set);
+            loaded.put(worldName, set);
 
             plugin.getLogger().info(String.format(
                     "[AegisGuard] Loaded world rules for '%s': claims=%s, pvp=%s, mobs=%s, containers=%s, pets=%s, farms=%s",
@@ -98,14 +113,44 @@ public class WorldRulesManager {
             ));
         }
 
-        plugin.getLogger().info("[AegisGuard] Loaded " + rules.size() + " per-world rule sets.");
+        rules = Map.copyOf(loaded);
+        plugin.getLogger().info("[AegisGuard] Loaded " + loaded.size() + " per-world rule sets.");
+        pushToStore();
+    }
+
+    /** Reads protection toggles into a FlagRegistry mask; missing keys keep the bit from fallback. */
+    private int readProtections(ConfigurationSection sec, int fallback) {
+        int mask = fallback | FlagRegistry.SAFE_ZONE;
+        mask = read(sec, mask, FlagRegistry.PVP, "pvp_protection", "pvp");
+        mask = read(sec, mask, FlagRegistry.MOBS, "no_mobs_in_claims", "mobs");
+        mask = read(sec, mask, FlagRegistry.CONTAINERS, "container_protection", "containers");
+        mask = read(sec, mask, FlagRegistry.PETS, "pets_protection", "pets");
+        mask = read(sec, mask, FlagRegistry.ENTITIES, "entities_protection", "entities");
+        mask = read(sec, mask, FlagRegistry.FARM, "farm_protection", "farms");
+        return mask;
+    }
+
+    private static int read(ConfigurationSection sec, int mask, int bit, String key, String shortKey) {
+        String path = sec.isSet(key) ? key : shortKey;
+        if (!sec.isSet(path)) return mask;
+        return sec.getBoolean(path) ? (mask | bit) : (mask & ~bit);
+    }
+
+    /** Hands the per-world masks to the plot store so cached plot protections are recomputed. */
+    private void pushToStore() {
+        if (plugin.store() != null) plugin.store().setWorldProtections(this::protectionMask);
     }
 
     /* -----------------------------
      * Accessors
      * ----------------------------- */
     private WorldRuleSet getRules(World world) {
-        return rules.getOrDefault(world.getName(), WorldRuleSet.defaultRules());
+        return rules.getOrDefault(world.getName(), defaults);
+    }
+
+    /** Protections this world enforces inside claims, as a FlagRegistry mask. */
+    public int protectionMask(String worldName) {
+        return rules.getOrDefault(worldName, defaults).protections;
     }
 
     public boolean allowClaims(World world) {
@@ -139,10 +184,11 @@ public class WorldRulesManager {
         WorldRuleSet r = getRules(world);
         return switch (key.toLowerCase()) {
             case "pvp", "pvp_protection" -> r.pvp;
-            case "mobs", "mobs_protection" -> r.mobs;
+            case "mobs", "mobs_protection", "no_mobs_in_claims" -> r.mobs;
             case "containers", "container_protection" -> r.containers;
             case "pets", "pets_protection" -> r.pets;
             case "farms", "farm_protection" -> r.farms;
+            case "entities", "entities_protection" -> (r.protections & FlagRegistry.ENTITIES) != 0;
             default -> true;
         };
     }
@@ -157,19 +203,21 @@ public class WorldRulesManager {
         public final boolean containers;
         public final boolean pets;
         public final boolean farms;
+        public final int protections; // FlagRegistry mask
 
-        public WorldRuleSet(boolean allowClaims, boolean pvp, boolean mobs,
-                            boolean containers, boolean pets, boolean farms) {
+        public WorldRuleSet(boolean allowClaims, int protections) {
             this.allowClaims = allowClaims;
-            this.pvp = pvp;
-            this.mobs = mobs;
-            this.containers = containers;
-            this.pets = pets;
-            this.farms = farms;
+            this.protections = protections;
+            this.pvp = (protections & FlagRegistry.PVP) != 0;
+            this.mobs = (protections & FlagRegistry.MOBS) != 0;
+            this.containers = (protections & FlagRegistry.CONTAINERS) != 0;
+            this.pets = (protections & FlagRegistry.PETS) != 0;
+            this.farms = (protections & FlagRegistry.FARM) != 0;
         }
 
+        /** No world restrictions: every plot flag applies as set. */
         public static WorldRuleSet defaultRules() {
-            return new WorldRuleSet(true, false, false, true, true, true);
+            return new WorldRuleSet(true, FlagRegistry.ALL);
         }
     }
 }
@@ -0,0 +1,71 @@
+package com.aegisguard.data;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChunkBitmapTest {
+
+    @Test
+    void setAndContains() {
+        ChunkBitmap bits = new ChunkBitmap();
+        bits.set(0, 0);
+        bits.set(-1, -1); // other side of the origin: a different region
+        bits.set(31, 31);
+
+        assertTrue(bits.contains(0, 0));
+        assertTrue(bits.contains(-1, -1));
+        assertTrue(bits.contains(31, 31));
+        assertFalse(bits.contains(1, 0));
+        assertFalse(bits.contains(32, 31));
+        assertEquals(2, bits.regionCount());
+    }
+
+    @Test
+    void clearingLastBitDropsTheRegion() {
+        ChunkBitmap bits = new ChunkBitmap();
+        bits.set(3, 4);
+        bits.set(5, 6);
+        assertEquals(1, bits.regionCount());
+
+        bits.clear(3, 4);
+        assertEquals(1, bits.regionCount(), "one bit still set");
+        assertTrue(bits.contains(5, 6));
+
+        bits.clear(5, 6);
+        assertEquals(0, bits.regionCount());
+        assertFalse(bits.contains(5, 6));
+
+        bits.set(5, 6); // region comes back cleanly
+        assertTrue(bits.contains(5, 6));
+        assertFalse(bits.contains(3, 4));
+    }
+
+    @Test
+    void dropKeepsOtherRegionsReachable() {
+        ChunkBitmap bits = new ChunkBitmap();
+        for (int r = 0; r < 200; r++) bits.set(r * 32, 0); // one chunk in each of 200 regions
+        for (int r = 0; r < 200; r += 2) bits.clear(r * 32, 0);
+
+        assertEquals(100, bits.regionCount());
+        for (int r = 0; r < 200; r++) assertEquals(r % 2 == 1, bits.contains(r * 32, 0), "region " + r);
+    }
+
+    @Test
+    void copyIsUnaffectedByLaterWrites() {
+        ChunkBitmap bits = new ChunkBitmap();
+        bits.set(1, 1);
+        bits.set(2, 2);
+        ChunkBitmap frozen = bits.copy();
+
+        bits.set(3, 3);   // same region: container must be cloned, not shared
+        bits.clear(1, 1);
+        bits.clear(2, 2);
+
+        assertTrue(frozen.contains(1, 1));
+        assertTrue(frozen.contains(2, 2));
+        assertFalse(frozen.contains(3, 3));
+        assertTrue(bits.contains(3, 3));
+        assertFalse(bits.contains(1, 1));
+    }
+}
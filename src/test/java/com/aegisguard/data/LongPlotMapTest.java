@@ -0,0 +1,117 @@
+package com.aegisguard.data;
+
+import com.aegisguard.data.PlotStore.Plot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LongPlotMapTest {
+
+    private static Plot plot(int n) {
+        return new Plot(new UUID(0, n), new UUID(1, n), "p" + n, "world", n, n, n, n);
+    }
+
+    /** Same mix as LongPlotMap.slot, to pick keys that collide on purpose. */
+    private static int slotOf(long key, int mask) {
+        long h = key * 0x9E3779B97F4A7C15L;
+        return (int) (h ^ (h >>> 32)) & mask;
+    }
+
+    @Test
+    void putGetAndRemove() {
+        LongPlotMap map = new LongPlotMap();
+        Plot a = plot(1), b = plot(2);
+        map.add(42L, a);
+        map.add(42L, b);
+        map.add(-7L, a);
+
+        assertEquals(2, map.size());
+        assertArrayEquals(new Plot[]{a, b}, map.get(42L));
+        assertArrayEquals(new Plot[]{a}, map.get(-7L));
+        assertNull(map.get(43L));
+
+        map.remove(42L, a);
+        assertArrayEquals(new Plot[]{b}, map.get(42L));
+        map.remove(42L, b); // last plot drops the bucket
+        assertFalse(map.containsKey(42L));
+        assertEquals(1, map.size());
+
+        assertArrayEquals(new Plot[]{a}, map.remove(-7L));
+        assertTrue(map.isEmpty());
+    }
+
+    @Test
+    void probingWrapsAroundTheTableEnd() {
+        LongPlotMap map = new LongPlotMap(4);
+        int mask = map.capacity() - 1;
+
+        // Three keys whose home is the last slot: they land in the last slot, 0 and 1
+        List<Long> keys = new ArrayList<>();
+        for (long k = 0; keys.size() < 3; k++) {
+            if (slotOf(k, mask) == mask) keys.add(k);
+        }
+        Plot[] plots = {plot(0), plot(1), plot(2)};
+        for (int i = 0; i < 3; i++) map.add(keys.get(i), plots[i]);
+        assertEquals(mask + 1, map.capacity(), "no resize, so the probe really wrapped");
+
+        for (int i = 0; i < 3; i++) assertSame(plots[i], map.get(keys.get(i))[0]);
+
+        // Deleting the head must shift the wrapped entries back, or they become unreachable
+        map.remove(keys.get(0));
+        assertNull(map.get(keys.get(0)));
+        assertSame(plots[1], map.get(keys.get(1))[0]);
+        assertSame(plots[2], map.get(keys.get(2))[0]);
+
+        map.remove(keys.get(1));
+        assertSame(plots[2], map.get(keys.get(2))[0]);
+        assertEquals(1, map.size());
+    }
+
+    @Test
+    void matchesHashMapUnderChurn() {
+        LongPlotMap map = new LongPlotMap(4);
+        Map<Long, Plot> expected = new HashMap<>();
+        Random rnd = new Random(7);
+        for (int i = 0; i < 50_000; i++) {
+            long key = rnd.nextInt(2_000) - 1_000;
+            if (rnd.nextBoolean()) {
+                Plot p = plot(i);
+                map.put(key, new Plot[]{p});
+                expected.put(key, p);
+            } else {
+                map.remove(key);
+                expected.remove(key);
+            }
+        }
+        assertEquals(expected.size(), map.size());
+        for (long key = -1_000; key < 1_000; key++) {
+            Plot[] got = map.get(key);
+            Plot want = expected.get(key);
+            if (want == null) assertNull(got, "key " + key);
+            else assertSame(want, got[0], "key " + key);
+        }
+    }
+
+    @Test
+    void copyIsUnaffectedByLaterWrites() {
+        LongPlotMap map = new LongPlotMap();
+        for (int i = 0; i < 1_000; i++) map.add(i, plot(i));
+        LongPlotMap frozen = map.copy();
+
+        for (int i = 0; i < 1_000; i += 2) map.remove(i);
+        for (int i = 1_000; i < 3_000; i++) map.add(i, plot(i)); // forces a rehash too
+
+        assertEquals(1_000, frozen.size());
+        for (int i = 0; i < 1_000; i++) assertNotNull(frozen.get(i), "key " + i);
+        assertNull(frozen.get(1_500));
+        assertNull(map.get(0));
+        assertNotNull(map.get(1));
+    }
+}
@@ -0,0 +1,94 @@
+package com.aegisguard.data;
+
+import com.aegisguard.data.PlotStore.Plot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class PlotRTreeTest {
+
+    private final Random rnd = new Random(11);
+
+    private Plot randomPlot(int n) {
+        int x = rnd.nextInt(4_000) - 2_000, z = rnd.nextInt(4_000) - 2_000;
+        return new Plot(new UUID(0, n), new UUID(1, n), "p" + n, "world", x, z, x + rnd.nextInt(64), z + rnd.nextInt(64));
+    }
+
+    private static Set<Plot> query(PlotRTree tree, int x1, int z1, int x2, int z2) {
+        Set<Plot> out = Collections.newSetFromMap(new IdentityHashMap<>());
+        tree.query(x1, z1, x2, z2, p -> {
+            assertTrue(out.add(p), "visited twice");
+            return true;
+        });
+        return out;
+    }
+
+    private static Set<Plot> bruteForce(List<Plot> plots, int x1, int z1, int x2, int z2) {
+        Set<Plot> out = Collections.newSetFromMap(new IdentityHashMap<>());
+        for (Plot p : plots) {
+            if (p.getX1() <= x2 && p.getX2() >= x1 && p.getZ1() <= z2 && p.getZ2() >= z1) out.add(p);
+        }
+        return out;
+    }
+
+    private void assertMatches(PlotRTree tree, List<Plot> plots) {
+        assertEquals(plots.size(), tree.size());
+        for (int i = 0; i < 300; i++) {
+            int x = rnd.nextInt(4_400) - 2_200, z = rnd.nextInt(4_400) - 2_200;
+            int x2 = x + rnd.nextInt(300), z2 = z + rnd.nextInt(300);
+            assertEquals(bruteForce(plots, x, z, x2, z2), query(tree, x, z, x2, z2));
+        }
+    }
+
+    @Test
+    void emptyTreeFindsNothing() {
+        assertTrue(query(PlotRTree.EMPTY, -10, -10, 10, 10).isEmpty());
+        assertSame(PlotRTree.EMPTY, PlotRTree.build(List.of()));
+    }
+
+    @Test
+    void bulkLoadMatchesBruteForce() {
+        List<Plot> plots = new ArrayList<>();
+        for (int i = 0; i < 2_000; i++) plots.add(randomPlot(i));
+        assertMatches(PlotRTree.build(plots), plots);
+    }
+
+    @Test
+    void insertAndRemoveMatchBruteForce() {
+        List<Plot> plots = new ArrayList<>();
+        PlotRTree tree = PlotRTree.EMPTY;
+        for (int i = 0; i < 1_500; i++) {
+            Plot p = randomPlot(i);
+            plots.add(p);
+            tree = tree.insert(p);
+        }
+        assertMatches(tree, plots);
+
+        PlotRTree before = tree;
+        List<Plot> all = new ArrayList<>(plots);
+        Collections.shuffle(plots, rnd);
+        while (plots.size() > 300) tree = tree.remove(plots.remove(plots.size() - 1));
+        assertMatches(tree, plots);
+        assertMatches(before, all); // older trees are untouched
+
+        for (Plot p : new ArrayList<>(plots)) tree = tree.remove(p);
+        assertEquals(0, tree.size());
+        assertTrue(query(tree, -3_000, -3_000, 3_000, 3_000).isEmpty());
+    }
+
+    @Test
+    void removingAnAbsentPlotKeepsTheTree() {
+        List<Plot> plots = new ArrayList<>();
+        for (int i = 0; i < 100; i++) plots.add(randomPlot(i));
+        PlotRTree tree = PlotRTree.build(plots);
+        assertSame(tree, tree.remove(randomPlot(1_000)));
+    }
+}
@@ -0,0 +1,142 @@
+package com.aegisguard.data;
+
+import com.aegisguard.data.PlotStore.Plot;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.IdentityHashMap;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Writers create / remove plots under the same lock order PlotStore uses (owner stripe, then
+ * world) while readers do getPlotAt-style lookups on the published index without locking.
+ */
+class WorldPlotsConcurrencyTest {
+
+    private static final int WRITERS = 4;
+    private static final int READERS = 4;
+    private static final int ROUNDS = 3_000;
+    private static final int BAND = 1_024; // each writer (owner) claims inside its own x band
+
+    private final WorldPlots[] worlds = {new WorldPlots("world"), new WorldPlots("world_nether")};
+    private final AtomicReference<Throwable> failure = new AtomicReference<>();
+    private final AtomicBoolean done = new AtomicBoolean();
+
+    @Test
+    void lookupsSeeEveryPublishedChangeAndNoHalfAppliedOne() throws InterruptedException {
+        List<List<Plot>> alive = new ArrayList<>();
+        List<Thread> writers = new ArrayList<>();
+        for (int w = 0; w < WRITERS; w++) {
+            List<Plot> mine = new ArrayList<>();
+            alive.add(mine);
+            writers.add(thread(writer(w, mine)));
+        }
+        List<Thread> readers = new ArrayList<>();
+        for (int r = 0; r < READERS; r++) readers.add(thread(reader(r)));
+
+        for (Thread t : writers) t.join(60_000);
+        for (Thread t : writers) assertFalse(t.isAlive(), "writer stuck: lock order deadlock?");
+        done.set(true);
+        for (Thread t : readers) t.join(10_000);
+        if (failure.get() != null) fail(failure.get().toString());
+
+        // Final published state holds exactly the plots the writers left behind
+        int total = 0;
+        for (List<Plot> mine : alive) {
+            for (Plot p : mine) assertTrue(indexedAt(world(p).index(), p), "lost " + p.getPlotId());
+            total += mine.size();
+        }
+        assertEquals(total, worlds[0].index().tree().size() + worlds[1].index().tree().size());
+    }
+
+    private Runnable writer(int w, List<Plot> mine) {
+        Object ownerLock = new Object();
+        return () -> {
+            Random rnd = new Random(w);
+            for (int i = 0; i < ROUNDS && failure.get() == null; i++) {
+                if (!mine.isEmpty() && rnd.nextInt(3) == 0) {
+                    Plot p = mine.remove(rnd.nextInt(mine.size()));
+                    WorldPlots wp = world(p);
+                    synchronized (ownerLock) {
+                        synchronized (wp) {
+                            wp.remove(p);
+                            wp.publish();
+                        }
+                    }
+                    // Only this writer touches its band, so the removal must be visible right away
+                    assertFalse(indexedAt(wp.index(), p), "removed plot still visible");
+                } else {
+                    int x = w * BAND + rnd.nextInt(BAND - 64), z = rnd.nextInt(BAND - 64);
+                    WorldPlots wp = worlds[rnd.nextInt(worlds.length)];
+                    Plot p = new Plot(UUID.randomUUID(), new UUID(0, w), "owner" + w, wp.name(),
+                            x, z, x + rnd.nextInt(64), z + rnd.nextInt(64));
+                    synchronized (ownerLock) {
+                        synchronized (wp) {
+                            wp.add(p);
+                            wp.publish();
+                        }
+                    }
+                    assertTrue(indexedAt(wp.index(), p), "created plot not visible");
+                    mine.add(p);
+                }
+            }
+        };
+    }
+
+    private Runnable reader(int r) {
+        return () -> {
+            Random rnd = new Random(100 + r);
+            while (!done.get() && failure.get() == null) {
+                WorldPlots.Index idx = worlds[rnd.nextInt(worlds.length)].index(); // one snapshot per lookup
+                int cx = rnd.nextInt(WRITERS * BAND >> 4), cz = rnd.nextInt(BAND >> 4);
+                Plot[] bucket = idx.chunks().get(PlotStore.chunkKey(cx, cz));
+                assertEquals(bucket != null, idx.claimed().contains(cx, cz), "bitmap and chunk table disagree");
+
+                Set<Plot> fromTree = Collections.newSetFromMap(new IdentityHashMap<>());
+                idx.tree().query(cx << 4, cz << 4, (cx << 4) + 15, (cz << 4) + 15, p -> {
+                    fromTree.add(p);
+                    return true;
+                });
+                Set<Plot> fromChunks = Collections.newSetFromMap(new IdentityHashMap<>());
+                if (bucket != null) Collections.addAll(fromChunks, bucket);
+                assertEquals(fromTree, fromChunks, "R-tree and chunk table disagree");
+            }
+        };
+    }
+
+    private WorldPlots world(Plot p) {
+        return p.getWorld().equals(worlds[0].name()) ? worlds[0] : worlds[1];
+    }
+
+    /** True if the plot is listed under its corner chunk, i.e. getPlotAt there would consider it. */
+    private static boolean indexedAt(WorldPlots.Index idx, Plot p) {
+        int cx = p.getX1() >> 4, cz = p.getZ1() >> 4;
+        if (!idx.claimed().contains(cx, cz)) return false;
+        Plot[] bucket = idx.chunks().get(PlotStore.chunkKey(cx, cz));
+        if (bucket == null) return false;
+        for (Plot q : bucket) {
+            if (q == p) return true;
+        }
+        return false;
+    }
+
+    private Thread thread(Runnable body) {
+        Thread t = new Thread(() -> {
+            try {
+                body.run();
+            } catch (Throwable e) {
+                failure.compareAndSet(null, e);
+            }
+        });
+        t.start();
+        return t;
+    }
+}